@@ -0,0 +1,76 @@
+package ru.otus.hw.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.otus.hw.models.Author;
+import ru.otus.hw.models.Genre;
+import ru.otus.hw.services.BookBitmapIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Books get one to three genres out of fifty with zipf-like popularity, Genre_1 is the most popular one
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BookBitmapIndexBenchmark {
+
+    private static final int GENRES = 50;
+
+    private static final int AUTHORS = 10_000;
+
+    private static final int LIMIT = 20;
+
+    @Param("1000000")
+    private int books;
+
+    private BookBitmapIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new BookBitmapIndex();
+        var random = new SplittableRandom(42);
+        for (int id = 1; id <= books; id++) {
+            int genreCount = 1 + random.nextInt(3);
+            List<Genre> bookGenres = new ArrayList<>(genreCount);
+            for (int g = 0; g < genreCount; g++) {
+                long genreId = (long) Math.pow(GENRES + 1, random.nextDouble());
+                bookGenres.add(new Genre(genreId, "Genre_" + genreId));
+            }
+            long authorId = 1 + random.nextInt(AUTHORS);
+            index.add(id, new Author(authorId, "Author_" + authorId), bookGenres);
+        }
+        index.optimize();
+    }
+
+    @Benchmark
+    public long andNotCount() {
+        return index.select("Genre_1 AND Genre_3 NOT Genre_5").getLongCardinality();
+    }
+
+    @Benchmark
+    public List<Long> orWithAuthorPage() {
+        return BookBitmapIndex.page(index.select("(Genre_7 OR Genre_20) AND NOT Author_42"), 500_000, LIMIT);
+    }
+
+    @Benchmark
+    public Map<String, Long> andNotFacets() {
+        return index.genreFacets(index.select("Genre_1 AND Genre_3 NOT Genre_5"));
+    }
+}
@@ -0,0 +1,77 @@
+package ru.otus.hw.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.otus.hw.services.InvertedIndex;
+import ru.otus.hw.services.SearchHit;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Documents are made of words with zipf-like frequencies, w0 is the most frequent one
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class InvertedIndexBenchmark {
+
+    private static final int VOCABULARY = 50_000;
+
+    private static final int WORDS_PER_DOCUMENT = 6;
+
+    private static final int LIMIT = 20;
+
+    @Param("1000000")
+    private int documents;
+
+    private InvertedIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new InvertedIndex();
+        var random = new SplittableRandom(42);
+        var text = new StringBuilder();
+        for (int id = 1; id <= documents; id++) {
+            text.setLength(0);
+            for (int w = 0; w < WORDS_PER_DOCUMENT; w++) {
+                // inverse transform of a 1/x distribution over the vocabulary
+                int word = (int) Math.pow(VOCABULARY, random.nextDouble()) - 1;
+                text.append('w').append(word).append(' ');
+            }
+            index.put(id, text.toString());
+        }
+    }
+
+    @Benchmark
+    public List<SearchHit> rareTerm() {
+        return index.search("w12345", LIMIT);
+    }
+
+    @Benchmark
+    public List<SearchHit> twoTerms() {
+        return index.search("w7 w150", LIMIT);
+    }
+
+    @Benchmark
+    public List<SearchHit> frequentAndRareTerm() {
+        return index.search("w0 w4242", LIMIT);
+    }
+
+    @Benchmark
+    public List<SearchHit> prefix() {
+        return index.search("w123*", LIMIT);
+    }
+}
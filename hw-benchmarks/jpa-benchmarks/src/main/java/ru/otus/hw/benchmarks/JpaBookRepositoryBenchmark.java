@@ -0,0 +1,188 @@
+package ru.otus.hw.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.otus.hw.Application;
+import ru.otus.hw.models.Author;
+import ru.otus.hw.models.Book;
+import ru.otus.hw.models.Genre;
+import ru.otus.hw.repositories.AuthorRepository;
+import ru.otus.hw.repositories.BookRepository;
+import ru.otus.hw.repositories.GenreRepository;
+import ru.otus.hw.services.CatalogGenerationSettings;
+import ru.otus.hw.services.CatalogGeneratorService;
+import ru.otus.hw.services.GenreDistribution;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JpaBookRepositoryBenchmark {
+
+    private static final int DELETE_BATCH_SIZE = 1000;
+
+    private static final int GENRES = 20;
+
+    private static final int COMMENTS_PER_BOOK = 2;
+
+    private static final long SEED = 42;
+
+    @Param("10000")
+    private int books;
+
+    private ConfigurableApplicationContext context;
+
+    private BookRepository bookRepository;
+
+    private NamedParameterJdbcOperations jdbc;
+
+    private TransactionTemplate transactionTemplate;
+
+    private TransactionTemplate readOnlyTransactionTemplate;
+
+    private List<Author> authors;
+
+    private List<Genre> genres;
+
+    private long counter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // command line arguments would be taken for a shell command, so the overrides go first in the environment
+        var environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("benchmark", Map.of(
+                "spring.shell.interactive.enabled", "false",
+                "spring.main.banner-mode", "off",
+                "logging.level.root", "warn",
+                "spring.jpa.show-sql", "false",
+                "spring.datasource.url", "jdbc:h2:mem:jpa-benchmark")));
+        context = new SpringApplicationBuilder(Application.class).environment(environment).run();
+        bookRepository = context.getBean(BookRepository.class);
+        jdbc = context.getBean(NamedParameterJdbcOperations.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        readOnlyTransactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransactionTemplate.setReadOnly(true);
+        populate();
+        authors = context.getBean(AuthorRepository.class).findAll();
+        genres = context.getBean(GenreRepository.class).findAll();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // genres are initialized inside the transaction to get the same object graph as the JDBC repository returns
+    @Benchmark
+    public Optional<Book> findById() {
+        long id = nextBookId();
+        return readOnlyTransactionTemplate.execute(status -> {
+            var book = bookRepository.findById(id);
+            book.ifPresent(b -> b.getGenres().size());
+            return book;
+        });
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Book> findAll() {
+        return readOnlyTransactionTemplate.execute(status -> {
+            var books = bookRepository.findAll();
+            books.forEach(b -> b.getGenres().size());
+            return books;
+        });
+    }
+
+    @Benchmark
+    public Book insert() {
+        var book = new Book(0, "Inserted_" + counter++, nextAuthor(), nextGenres());
+        return transactionTemplate.execute(status -> bookRepository.save(book));
+    }
+
+    @Benchmark
+    public Book update() {
+        var book = new Book(nextBookId(), "Updated_" + counter, nextAuthor(), nextGenres());
+        return transactionTemplate.execute(status -> bookRepository.save(book));
+    }
+
+    // Score is the time of the whole batch, each invocation deletes one of DELETE_BATCH_SIZE prepared books
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3, batchSize = DELETE_BATCH_SIZE)
+    @Measurement(iterations = 5, batchSize = DELETE_BATCH_SIZE)
+    public void deleteById(DeletableBooks deletableBooks) {
+        long id = deletableBooks.ids.pop();
+        transactionTemplate.executeWithoutResult(status -> bookRepository.deleteById(id));
+    }
+
+    private void populate() {
+        context.getBean(CatalogGeneratorService.class).generate(new CatalogGenerationSettings(
+                Math.max(books / 10, 1), GENRES, books, 1, 3, GenreDistribution.ZIPF, COMMENTS_PER_BOOK, SEED, 1000));
+    }
+
+    private List<Long> insertBooks(String titlePrefix, int count) {
+        Long lastId = jdbc.queryForObject("select coalesce(max(id), 0) from books", Map.of(), Long.class);
+        jdbc.update("insert into books(title, author_id) select :prefix || x, " +
+                        "mod(x, (select count(*) from authors)) + 1 from system_range(1, :count)",
+                Map.of("prefix", titlePrefix, "count", count));
+        jdbc.update("insert into books_genres(book_id, genre_id) " +
+                "select id, mod(id, 6) + 1 from books where id > :lastId", Map.of("lastId", lastId));
+        jdbc.update("insert into books_genres(book_id, genre_id) " +
+                "select id, mod(id + 3, 6) + 1 from books where id > :lastId", Map.of("lastId", lastId));
+        return jdbc.queryForList("select id from books where id > :lastId order by id",
+                Map.of("lastId", lastId), Long.class);
+    }
+
+    private long nextBookId() {
+        return counter++ % books + 1;
+    }
+
+    private Author nextAuthor() {
+        return authors.get((int) (counter % authors.size()));
+    }
+
+    private List<Genre> nextGenres() {
+        int first = (int) (counter % genres.size());
+        return List.of(genres.get(first), genres.get((first + 1) % genres.size()));
+    }
+
+    @State(Scope.Benchmark)
+    public static class DeletableBooks {
+
+        private final Deque<Long> ids = new ArrayDeque<>();
+
+        @Setup(Level.Iteration)
+        public void insertBooks(JpaBookRepositoryBenchmark benchmark) {
+            ids.clear();
+            ids.addAll(benchmark.insertBooks("Deletable_", DELETE_BATCH_SIZE));
+        }
+    }
+}
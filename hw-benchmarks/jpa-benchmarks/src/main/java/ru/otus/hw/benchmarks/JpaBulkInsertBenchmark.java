@@ -0,0 +1,111 @@
+package ru.otus.hw.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.otus.hw.Application;
+import ru.otus.hw.models.Author;
+import ru.otus.hw.models.Book;
+import ru.otus.hw.models.Comment;
+import ru.otus.hw.models.Genre;
+import ru.otus.hw.repositories.AuthorRepository;
+import ru.otus.hw.repositories.BookRepository;
+import ru.otus.hw.repositories.CommentRepository;
+import ru.otus.hw.repositories.GenreRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Score is the time to persist all books with their comments, compare the two profile values
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class JpaBulkInsertBenchmark {
+
+    private static final int COMMENTS_PER_BOOK = 2;
+
+    private static final int BOOKS_PER_TRANSACTION = 1000;
+
+    @Param({"default", "high-throughput"})
+    private String profile;
+
+    @Param("100000")
+    private int books;
+
+    private ConfigurableApplicationContext context;
+
+    private BookRepository bookRepository;
+
+    private CommentRepository commentRepository;
+
+    private TransactionTemplate transactionTemplate;
+
+    private List<Author> authors;
+
+    private List<Genre> genres;
+
+    private long counter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("benchmark", Map.of(
+                "spring.shell.interactive.enabled", "false",
+                "spring.main.banner-mode", "off",
+                "logging.level.root", "warn",
+                "spring.jpa.show-sql", "false",
+                "spring.datasource.url", "jdbc:h2:mem:jpa-bulk-insert-benchmark")));
+        environment.setActiveProfiles(profile.equals("default") ? new String[0] : new String[]{profile});
+        context = new SpringApplicationBuilder(Application.class).environment(environment).run();
+        bookRepository = context.getBean(BookRepository.class);
+        commentRepository = context.getBean(CommentRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        authors = context.getBean(AuthorRepository.class).findAll();
+        genres = context.getBean(GenreRepository.class).findAll();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long insertBooksWithComments() {
+        for (int inserted = 0; inserted < books; inserted += BOOKS_PER_TRANSACTION) {
+            int count = Math.min(BOOKS_PER_TRANSACTION, books - inserted);
+            transactionTemplate.executeWithoutResult(status -> insertBooks(count));
+        }
+        return counter;
+    }
+
+    private void insertBooks(int count) {
+        for (int i = 0; i < count; i++) {
+            long bookNo = counter++;
+            var book = bookRepository.save(new Book(0, "Inserted_" + bookNo,
+                    authors.get((int) (bookNo % authors.size())),
+                    List.of(genres.get((int) (bookNo % genres.size())))));
+            for (int c = 0; c < COMMENTS_PER_BOOK; c++) {
+                commentRepository.save(new Comment(0, "Comment_" + bookNo + "_" + c, book));
+            }
+        }
+    }
+}
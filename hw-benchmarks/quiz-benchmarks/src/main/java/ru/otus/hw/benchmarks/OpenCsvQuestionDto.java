@@ -0,0 +1,34 @@
+package ru.otus.hw.benchmarks;
+
+import com.opencsv.bean.AbstractCsvConverter;
+import com.opencsv.bean.CsvBindAndSplitByPosition;
+import com.opencsv.bean.CsvBindByPosition;
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// The bean CsvQuestionDao used to read through OpenCSV, kept as the baseline for QuestionCsvParser
+public class OpenCsvQuestionDto {
+
+    @CsvBindByPosition(position = 0)
+    private String text;
+
+    @CsvBindAndSplitByPosition(position = 1, collectionType = ArrayList.class, elementType = Answer.class,
+            converter = AnswerConverter.class, splitOn = "\\|")
+    private List<Answer> answers;
+
+    public Question toDomainObject() {
+        return new Question(text, answers);
+    }
+
+    public static class AnswerConverter extends AbstractCsvConverter {
+
+        @Override
+        public Object convertToRead(String value) {
+            var valueArr = value.split("%");
+            return new Answer(valueArr[0], Boolean.parseBoolean(valueArr[1]));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package ru.otus.hw.benchmarks;
+
+import com.opencsv.bean.CsvToBeanBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.otus.hw.dao.QuestionCsvParser;
+import ru.otus.hw.domain.Question;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Questions of two to five answers each, one of them correct. Both sides read the same text from memory,
+// so only parsing is measured
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class QuestionCsvParserBenchmark {
+
+    @Param("100000")
+    private int questions;
+
+    private String csv;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var random = new SplittableRandom(42);
+        var builder = new StringBuilder("# header\n");
+        for (int q = 0; q < questions; q++) {
+            builder.append("Question number ").append(q).append(" about something rather important?;");
+            int answers = 2 + random.nextInt(4);
+            int correct = random.nextInt(answers);
+            for (int a = 0; a < answers; a++) {
+                builder.append(a == 0 ? "" : "|").append("Answer ").append(a).append(" to question ").append(q)
+                        .append(a == correct ? "%true" : "%false");
+            }
+            builder.append('\n');
+        }
+        csv = builder.toString();
+    }
+
+    @Benchmark
+    public List<Question> openCsv() {
+        return new CsvToBeanBuilder<OpenCsvQuestionDto>(new StringReader(csv))
+                .withType(OpenCsvQuestionDto.class)
+                .withSeparator(';')
+                .withSkipLines(1)
+                .withIgnoreLeadingWhiteSpace(true)
+                .withIgnoreEmptyLine(true)
+                .build()
+                .stream().toList().stream().map(OpenCsvQuestionDto::toDomainObject).toList();
+    }
+
+    @Benchmark
+    public List<Question> questionCsvParser() throws IOException {
+        return QuestionCsvParser.parse(new StringReader(csv));
+    }
+}
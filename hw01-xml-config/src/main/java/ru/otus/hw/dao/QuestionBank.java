@@ -0,0 +1,170 @@
+package ru.otus.hw.dao;
+
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.exceptions.QuestionReadException;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Compiled question bank, all numbers are big-endian ints:
+// header     magic, version, question count, answer count, string count, then the size and modification
+//            time of the CSV file the bank was compiled from as longs
+// questions  text string, first answer - answers of a question run up to the next question's first answer
+// answers    string index in the low 31 bits, the top bit is set for a correct answer
+// strings    string count + 1 offsets into the UTF-8 bytes that follow
+// Questions are decoded on first access, so opening a bank costs the same for any size
+public final class QuestionBank extends AbstractList<Question> {
+
+    public static final String FILE_EXTENSION = ".qbank";
+
+    private static final int MAGIC = 0x5142_4E4B;
+
+    private static final int VERSION = 2;
+
+    private static final int HEADER_SIZE = 5 * Integer.BYTES + 2 * Long.BYTES;
+
+    private static final int QUESTION_SIZE = 2 * Integer.BYTES;
+
+    private static final int CORRECT_BIT = 0x8000_0000;
+
+    private final ByteBuffer buffer;
+
+    private final long sourceSize;
+
+    private final long sourceLastModified;
+
+    private final int questionCount;
+
+    private final int answerCount;
+
+    private final int answersStart;
+
+    private final int offsetsStart;
+
+    private final int stringsStart;
+
+    private final Question[] decoded;
+
+    private QuestionBank(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new QuestionReadException("Not a question bank of version " + VERSION);
+        }
+        questionCount = buffer.getInt(8);
+        answerCount = buffer.getInt(12);
+        int stringCount = buffer.getInt(16);
+        sourceSize = buffer.getLong(20);
+        sourceLastModified = buffer.getLong(28);
+        answersStart = HEADER_SIZE + questionCount * QUESTION_SIZE;
+        offsetsStart = answersStart + answerCount * Integer.BYTES;
+        stringsStart = offsetsStart + (stringCount + 1) * Integer.BYTES;
+        if (stringsStart > buffer.limit() || stringsStart + buffer.getInt(stringsStart - Integer.BYTES)
+                != buffer.limit()) {
+            throw new QuestionReadException("Truncated question bank");
+        }
+        decoded = new Question[questionCount];
+    }
+
+    public static QuestionBank of(ByteBuffer buffer) {
+        return new QuestionBank(buffer);
+    }
+
+    public static void write(List<Question> questions, long sourceSize, long sourceLastModified,
+                             OutputStream outputStream) throws IOException {
+        Map<String, Integer> stringIndexes = new HashMap<>();
+        List<byte[]> strings = new ArrayList<>();
+        int answerCount = questions.stream().mapToInt(question -> question.answers().size()).sum();
+        int[] questionRecords = new int[questions.size() * 2];
+        int[] answerRecords = new int[answerCount];
+        int answer = 0;
+        for (int i = 0; i < questions.size(); i++) {
+            var question = questions.get(i);
+            questionRecords[2 * i] = stringIndex(question.text(), stringIndexes, strings);
+            questionRecords[2 * i + 1] = answer;
+            for (var questionAnswer : question.answers()) {
+                answerRecords[answer++] = stringIndex(questionAnswer.text(), stringIndexes, strings)
+                        | (questionAnswer.isCorrect() ? CORRECT_BIT : 0);
+            }
+        }
+        var output = new DataOutputStream(outputStream);
+        for (int value : new int[] {MAGIC, VERSION, questions.size(), answerCount, strings.size()}) {
+            output.writeInt(value);
+        }
+        output.writeLong(sourceSize);
+        output.writeLong(sourceLastModified);
+        for (int value : questionRecords) {
+            output.writeInt(value);
+        }
+        for (int value : answerRecords) {
+            output.writeInt(value);
+        }
+        int offset = 0;
+        output.writeInt(offset);
+        for (var string : strings) {
+            offset += string.length;
+            output.writeInt(offset);
+        }
+        for (var string : strings) {
+            output.write(string);
+        }
+        output.flush();
+    }
+
+    // Whether the bank was compiled from a file of this size and modification time
+    public boolean isCompiledFrom(long size, long lastModified) {
+        return sourceSize == size && sourceLastModified == lastModified;
+    }
+
+    @Override
+    public Question get(int index) {
+        var question = decoded[index];
+        if (question == null) {
+            question = decode(index);
+            decoded[index] = question;
+        }
+        return question;
+    }
+
+    @Override
+    public int size() {
+        return questionCount;
+    }
+
+    // Questions are immutable records, so a question decoded twice by racing threads is harmless
+    private Question decode(int index) {
+        int record = HEADER_SIZE + index * QUESTION_SIZE;
+        int firstAnswer = buffer.getInt(record + Integer.BYTES);
+        int lastAnswer = index + 1 < questionCount ? buffer.getInt(record + QUESTION_SIZE + Integer.BYTES)
+                : answerCount;
+        Answer[] answers = new Answer[lastAnswer - firstAnswer];
+        for (int i = 0; i < answers.length; i++) {
+            int answer = buffer.getInt(answersStart + (firstAnswer + i) * Integer.BYTES);
+            answers[i] = new Answer(string(answer & ~CORRECT_BIT), (answer & CORRECT_BIT) != 0);
+        }
+        return new Question(string(buffer.getInt(record)), List.of(answers));
+    }
+
+    private String string(int index) {
+        int start = buffer.getInt(offsetsStart + index * Integer.BYTES);
+        int end = buffer.getInt(offsetsStart + (index + 1) * Integer.BYTES);
+        byte[] bytes = new byte[end - start];
+        buffer.get(stringsStart + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int stringIndex(String string, Map<String, Integer> stringIndexes, List<byte[]> strings) {
+        return stringIndexes.computeIfAbsent(string, s -> {
+            strings.add(s.getBytes(StandardCharsets.UTF_8));
+            return strings.size() - 1;
+        });
+    }
+}
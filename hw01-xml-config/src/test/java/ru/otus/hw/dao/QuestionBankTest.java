@@ -0,0 +1,54 @@
+package ru.otus.hw.dao;
+
+import org.junit.jupiter.api.Test;
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.exceptions.QuestionReadException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuestionBankTest {
+
+    private static final List<Question> QUESTIONS = List.of(
+            new Question("Есть ли жизнь на Марсе?", List.of(new Answer("Yes", false), new Answer("No", true))),
+            new Question("Is 2 + 2 = 4?", List.of(new Answer("Yes", true), new Answer("No", false),
+                    new Answer("50% off", false))),
+            new Question("Empty?", List.of()));
+
+    @Test
+    void testWriteAndReadBack() throws IOException {
+        byte[] bank = write(QUESTIONS);
+
+        QuestionBank questionBank = QuestionBank.of(ByteBuffer.wrap(bank));
+
+        assertEquals(3, questionBank.size());
+        assertEquals(QUESTIONS.get(1), questionBank.get(1));
+        assertEquals(QUESTIONS, questionBank);
+        assertTrue(questionBank.isCompiledFrom(120, 1_700_000_000_000L));
+        assertFalse(questionBank.isCompiledFrom(121, 1_700_000_000_000L));
+    }
+
+    @Test
+    void testRejectsForeignAndTruncatedData() throws IOException {
+        byte[] bank = write(QUESTIONS);
+
+        assertThrows(QuestionReadException.class, () -> QuestionBank.of(ByteBuffer.wrap("question".getBytes())));
+        assertThrows(QuestionReadException.class,
+                () -> QuestionBank.of(ByteBuffer.wrap(Arrays.copyOf(bank, bank.length - 1))));
+    }
+
+    private static byte[] write(List<Question> questions) throws IOException {
+        var output = new ByteArrayOutputStream();
+        QuestionBank.write(questions, 120, 1_700_000_000_000L, output);
+        return output.toByteArray();
+    }
+}
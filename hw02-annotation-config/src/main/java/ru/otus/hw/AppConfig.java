@@ -8,6 +8,7 @@ import org.springframework.context.annotation.PropertySource;
 import ru.otus.hw.config.AppProperties;
 import ru.otus.hw.config.TestConfig;
 import ru.otus.hw.config.TestFileNameProvider;
+import ru.otus.hw.dao.BinaryQuestionDao;
 import ru.otus.hw.dao.CsvQuestionDao;
 import ru.otus.hw.dao.QuestionDao;
 
@@ -31,6 +32,6 @@ public class AppConfig {
 
     @Bean
     QuestionDao personDao(@Qualifier("testFileNameProvider") TestFileNameProvider testFileNameProvider) {
-        return new CsvQuestionDao(testFileNameProvider);
+        return new BinaryQuestionDao(testFileNameProvider, new CsvQuestionDao(testFileNameProvider));
     }
 }
@@ -0,0 +1,77 @@
+package ru.otus.hw.dao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.otus.hw.config.TestFileNameProvider;
+import ru.otus.hw.domain.Question;
+
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BinaryQuestionDaoTest {
+
+    @Mock
+    private TestFileNameProvider fileNameProvider;
+
+    @Mock
+    private CsvQuestionDao csvQuestionDao;
+
+    private BinaryQuestionDao binaryQuestionDao;
+
+    @BeforeEach
+    void setUp() {
+        binaryQuestionDao = new BinaryQuestionDao(fileNameProvider, csvQuestionDao);
+    }
+
+    @Test
+    void testFindAllReadsBankCompiledByBuild() {
+        when(fileNameProvider.getTestFileName()).thenReturn("questions.csv");
+        List<Question> parsed = new CsvQuestionDao(fileNameProvider).findAll();
+
+        List<Question> questions = binaryQuestionDao.findAll();
+
+        assertEquals(parsed, questions);
+        assertSame(questions, binaryQuestionDao.findAll());
+        verifyNoInteractions(csvQuestionDao);
+    }
+
+    @Test
+    void testFindAllFallsBackToCsvWithoutBank() {
+        List<Question> parsed = List.of();
+        when(fileNameProvider.getTestFileName()).thenReturn("no-bank.csv");
+        when(csvQuestionDao.findAll()).thenReturn(parsed);
+
+        assertSame(parsed, binaryQuestionDao.findAll());
+    }
+
+    @Test
+    void testBankIsOnlyUsedWhileItsCsvIsUnchanged(@TempDir Path directory) throws Exception {
+        Path csvFile = Files.writeString(directory.resolve("questions.csv"), "header\nFirst?;Yes%true\n");
+        Path bankFile = directory.resolve("questions.qbank");
+        QuestionBankCompiler.main(new String[] {directory.toString(), directory.toString()});
+        var bank = QuestionBank.of(ByteBuffer.wrap(Files.readAllBytes(bankFile)));
+        URL bankUrl = bankFile.toUri().toURL();
+
+        boolean compiledFromWritten = BinaryQuestionDao.isCompiledFromCurrentCsv(bank, bankUrl, "questions.csv");
+        Files.setLastModifiedTime(csvFile, FileTime.fromMillis(Files.getLastModifiedTime(csvFile).toMillis() + 1000));
+
+        assertTrue(compiledFromWritten);
+        assertFalse(BinaryQuestionDao.isCompiledFromCurrentCsv(bank, bankUrl, "questions.csv"));
+    }
+}
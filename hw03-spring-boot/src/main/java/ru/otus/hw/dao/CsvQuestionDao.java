@@ -1,11 +1,8 @@
 package ru.otus.hw.dao;
 
-import com.opencsv.bean.CsvToBean;
-import com.opencsv.bean.CsvToBeanBuilder;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import ru.otus.hw.config.TestFileNameProvider;
-import ru.otus.hw.dao.dto.QuestionDto;
 import ru.otus.hw.domain.Question;
 import ru.otus.hw.exceptions.QuestionReadException;
 
@@ -24,15 +21,7 @@ public class CsvQuestionDao implements QuestionDao {
         try (InputStream resourceStream = getFileFromResourceAsStream(fileNameProvider.getTestFileName());
              InputStreamReader inputResourceStreamReader =
                      new InputStreamReader(resourceStream, StandardCharsets.UTF_8)) {
-            CsvToBean<QuestionDto> csvToQuestionDto = new CsvToBeanBuilder<QuestionDto>(inputResourceStreamReader)
-                    .withType(QuestionDto.class)
-                    .withSeparator(';')
-                    .withSkipLines(1)
-                    .withIgnoreLeadingWhiteSpace(true)
-                    .withIgnoreEmptyLine(true)
-                    .build();
-
-            return csvToQuestionDto.stream().toList().stream().map(QuestionDto::toDomainObject).toList();
+            return QuestionCsvParser.parse(inputResourceStreamReader);
         } catch (Exception exception) {
             throw new QuestionReadException(exception.getMessage(), exception);
         }
@@ -5,9 +5,10 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.shell.command.annotation.CommandScan;
 import ru.otus.hw.config.AppProperties;
+import ru.otus.hw.config.QuizServerProperties;
 
 @SpringBootApplication
-@EnableConfigurationProperties(AppProperties.class)
+@EnableConfigurationProperties({AppProperties.class, QuizServerProperties.class})
 @CommandScan
 public class Application {
     public static void main(String[] args) {
@@ -0,0 +1,22 @@
+package ru.otus.hw.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "quiz-server")
+public class QuizServerProperties {
+
+    // Every session holds a thread that waits on its socket most of the time
+    private int maxSessions = 5000;
+
+    // Sessions only go a few calls deep, so their threads get far less stack than the JVM default
+    private DataSize sessionStackSize = DataSize.ofKilobytes(256);
+
+    private Duration idleTimeout = Duration.ofMinutes(10);
+}
@@ -0,0 +1,85 @@
+package ru.otus.hw.dao;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.otus.hw.config.TestFileNameProvider;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.exceptions.QuestionReadException;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// Reads the question banks compiled by QuestionBankCompiler during the build. A bank lying on disk is memory-mapped,
+// one packed into a jar can't be and is read into memory. A bank on disk is only used while the CSV next to it
+// is the one it was compiled from, an IDE may copy an edited CSV without compiling it. Otherwise the CSV is parsed
+@Component
+@RequiredArgsConstructor
+public class BinaryQuestionDao implements QuestionDao {
+
+    private final TestFileNameProvider fileNameProvider;
+
+    private final CachingQuestionDao cachingQuestionDao;
+
+    private final Map<String, QuestionBank> banks = new ConcurrentHashMap<>();
+
+    @Override
+    public List<Question> findAll() {
+        String fileName = fileNameProvider.getTestFileName();
+        String bankFileName = QuestionBankCompiler.bankFileName(fileName);
+        URL resource = getClass().getClassLoader().getResource(bankFileName);
+        if (resource == null) {
+            return cachingQuestionDao.findAll();
+        }
+        var bank = banks.computeIfAbsent(bankFileName, name -> QuestionBank.of(read(resource)));
+        if (!isCompiledFromCurrentCsv(bank, resource, fileName)) {
+            // Dropped, so a bank compiled again later is read anew
+            banks.remove(bankFileName, bank);
+            return cachingQuestionDao.findAll();
+        }
+        return bank;
+    }
+
+    // Question counts of the banks in use by file name
+    public Map<String, Integer> getLoadedBanks() {
+        return new TreeMap<>(banks.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().size())));
+    }
+
+    // Resources packed into a jar were built together and can't change
+    static boolean isCompiledFromCurrentCsv(QuestionBank bank, URL resource, String fileName) {
+        if (!"file".equals(resource.getProtocol())) {
+            return true;
+        }
+        try {
+            Path csvFile = Path.of(resource.toURI()).resolveSibling(Path.of(fileName).getFileName());
+            return Files.notExists(csvFile)
+                    || bank.isCompiledFrom(Files.size(csvFile), Files.getLastModifiedTime(csvFile).toMillis());
+        } catch (Exception exception) {
+            throw new QuestionReadException(exception.getMessage(), exception);
+        }
+    }
+
+    private static ByteBuffer read(URL resource) {
+        try {
+            if ("file".equals(resource.getProtocol())) {
+                try (var channel = FileChannel.open(Path.of(resource.toURI()))) {
+                    return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                }
+            }
+            try (InputStream inputStream = resource.openStream()) {
+                return ByteBuffer.wrap(inputStream.readAllBytes());
+            }
+        } catch (Exception exception) {
+            throw new QuestionReadException(exception.getMessage(), exception);
+        }
+    }
+}
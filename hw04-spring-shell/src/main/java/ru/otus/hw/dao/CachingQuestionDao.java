@@ -0,0 +1,82 @@
+package ru.otus.hw.dao;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.otus.hw.config.TestFileNameProvider;
+import ru.otus.hw.domain.Question;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Keeps the parsed questions of every test file and shares them between all runs. A file is parsed again
+// only when its modification time changes
+@Component
+@RequiredArgsConstructor
+public class CachingQuestionDao implements QuestionDao {
+
+    private final CsvQuestionDao csvQuestionDao;
+
+    private final TestFileNameProvider fileNameProvider;
+
+    private final Map<String, CachedQuestions> cache = new ConcurrentHashMap<>();
+
+    @Override
+    public List<Question> findAll() {
+        String fileName = fileNameProvider.getTestFileName();
+        long lastModified = csvQuestionDao.getLastModified(fileName);
+        var cached = cache.get(fileName);
+        if (cached != null && cached.lastModified == lastModified) {
+            cached.hits.increment();
+            return cached.questions;
+        }
+        return cache.compute(fileName, (name, previous) -> previous != null && previous.lastModified == lastModified
+                ? previous : load(name, lastModified, previous)).questions;
+    }
+
+    public List<QuestionCacheStats> getStats() {
+        return cache.entrySet().stream()
+                .map(entry -> new QuestionCacheStats(entry.getKey(), entry.getValue().questions.size(),
+                        entry.getValue().loads, entry.getValue().hits.sum(), entry.getValue().loadMillis))
+                .sorted(Comparator.comparing(QuestionCacheStats::fileName))
+                .toList();
+    }
+
+    private CachedQuestions load(String fileName, long lastModified, CachedQuestions previous) {
+        long start = System.nanoTime();
+        var questions = csvQuestionDao.findAll(fileName).stream()
+                .map(question -> new Question(question.text(), List.copyOf(question.answers())))
+                .toList();
+        long loadMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        var loaded = new CachedQuestions(questions, lastModified, previous == null ? 1 : previous.loads + 1,
+                loadMillis);
+        if (previous != null) {
+            loaded.hits.add(previous.hits.sum());
+        }
+        return loaded;
+    }
+
+    private static final class CachedQuestions {
+
+        private final List<Question> questions;
+
+        private final long lastModified;
+
+        private final long loads;
+
+        private final long loadMillis;
+
+        // Calls answered without parsing, carried over when the file is reloaded
+        private final LongAdder hits = new LongAdder();
+
+        private CachedQuestions(List<Question> questions, long lastModified, long loads, long loadMillis) {
+            this.questions = questions;
+            this.lastModified = lastModified;
+            this.loads = loads;
+            this.loadMillis = loadMillis;
+        }
+    }
+}
@@ -1,17 +1,17 @@
 package ru.otus.hw.dao;
 
-import com.opencsv.bean.CsvToBean;
-import com.opencsv.bean.CsvToBeanBuilder;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import ru.otus.hw.config.TestFileNameProvider;
-import ru.otus.hw.dao.dto.QuestionDto;
 import ru.otus.hw.domain.Question;
 import ru.otus.hw.exceptions.QuestionReadException;
 
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 
 @RequiredArgsConstructor
@@ -21,18 +21,27 @@ public class CsvQuestionDao implements QuestionDao {
 
     @Override
     public List<Question> findAll() {
-        try (InputStream resourceStream = getFileFromResourceAsStream(fileNameProvider.getTestFileName());
+        return findAll(fileNameProvider.getTestFileName());
+    }
+
+    public List<Question> findAll(String fileName) {
+        try (InputStream resourceStream = getFileFromResourceAsStream(fileName);
              InputStreamReader inputResourceStreamReader =
                      new InputStreamReader(resourceStream, StandardCharsets.UTF_8)) {
-            CsvToBean<QuestionDto> csvToQuestionDto = new CsvToBeanBuilder<QuestionDto>(inputResourceStreamReader)
-                    .withType(QuestionDto.class)
-                    .withSeparator(';')
-                    .withSkipLines(1)
-                    .withIgnoreLeadingWhiteSpace(true)
-                    .withIgnoreEmptyLine(true)
-                    .build();
+            return QuestionCsvParser.parse(inputResourceStreamReader);
+        } catch (Exception exception) {
+            throw new QuestionReadException(exception.getMessage(), exception);
+        }
+    }
 
-            return csvToQuestionDto.stream().toList().stream().map(QuestionDto::toDomainObject).toList();
+    // Only files on disk can change while the application runs, resources packed into a jar get 0
+    public long getLastModified(String fileName) {
+        URL resource = getClass().getClassLoader().getResource(fileName);
+        if (resource == null || !"file".equals(resource.getProtocol())) {
+            return 0;
+        }
+        try {
+            return Files.getLastModifiedTime(Path.of(resource.toURI())).toMillis();
         } catch (Exception exception) {
             throw new QuestionReadException(exception.getMessage(), exception);
         }
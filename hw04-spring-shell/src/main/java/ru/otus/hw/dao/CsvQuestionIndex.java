@@ -0,0 +1,193 @@
+package ru.otus.hw.dao;
+
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.exceptions.QuestionReadException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Offsets of every QUESTIONS_PER_OFFSET-th question of a CSV file, so the file can be of any size and only
+// the questions asked for are read and parsed. The offsets are collected in one pass over the bytes
+public final class CsvQuestionIndex extends AbstractList<Question> {
+
+    private static final int QUESTIONS_PER_OFFSET = 64;
+
+    private static final int SCAN_BUFFER_SIZE = 1 << 20;
+
+    private final Path path;
+
+    private final long size;
+
+    private final long lastModified;
+
+    private final int questionCount;
+
+    private final long[] offsets;
+
+    private final int[] linesBefore;
+
+    private CsvQuestionIndex(Path path, long size, long lastModified, int questionCount, long[] offsets,
+                             int[] linesBefore) {
+        this.path = path;
+        this.size = size;
+        this.lastModified = lastModified;
+        this.questionCount = questionCount;
+        this.offsets = offsets;
+        this.linesBefore = linesBefore;
+    }
+
+    public static CsvQuestionIndex build(Path path) {
+        try (var channel = FileChannel.open(path)) {
+            long lastModified = Files.getLastModifiedTime(path).toMillis();
+            var builder = new Builder();
+            var buffer = ByteBuffer.allocateDirect(SCAN_BUFFER_SIZE);
+            while (channel.read(buffer.clear()) >= 0) {
+                builder.scan(buffer.flip());
+            }
+            builder.endLine();
+            return new CsvQuestionIndex(path, builder.position, lastModified, builder.questionCount,
+                    builder.offsets, builder.linesBefore);
+        } catch (IOException exception) {
+            throw new QuestionReadException(exception.getMessage(), exception);
+        }
+    }
+
+    public boolean isStale() {
+        try {
+            return Files.size(path) != size || Files.getLastModifiedTime(path).toMillis() != lastModified;
+        } catch (IOException exception) {
+            throw new QuestionReadException(exception.getMessage(), exception);
+        }
+    }
+
+    @Override
+    public Question get(int index) {
+        Objects.checkIndex(index, questionCount);
+        if (isStale()) {
+            throw new QuestionReadException("%s was changed after indexing".formatted(path));
+        }
+        int checkpoint = index / QUESTIONS_PER_OFFSET;
+        try (var channel = FileChannel.open(path)) {
+            channel.position(offsets[checkpoint]);
+            var parser = QuestionCsvParser.fromLine(Channels.newReader(channel, StandardCharsets.UTF_8),
+                    linesBefore[checkpoint]);
+            for (int skipped = index % QUESTIONS_PER_OFFSET; skipped > 0; skipped--) {
+                parser.skip();
+            }
+            var question = parser.next();
+            if (question == null) {
+                throw new QuestionReadException("%s was changed after indexing".formatted(path));
+            }
+            return question;
+        } catch (IOException exception) {
+            throw new QuestionReadException(exception.getMessage(), exception);
+        }
+    }
+
+    @Override
+    public int size() {
+        return questionCount;
+    }
+
+    // Reads the file front to back instead of seeking for every question. The stream must be closed
+    @Override
+    public Stream<Question> stream() {
+        try {
+            BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+            var parser = QuestionCsvParser.withHeader(reader);
+            var questions = new Spliterators.AbstractSpliterator<Question>(questionCount,
+                    Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(Consumer<? super Question> action) {
+                    try {
+                        var question = parser.next();
+                        if (question == null) {
+                            return false;
+                        }
+                        action.accept(question);
+                        return true;
+                    } catch (IOException exception) {
+                        throw new QuestionReadException(exception.getMessage(), exception);
+                    }
+                }
+            };
+            return StreamSupport.stream(questions, false).onClose(() -> {
+                try {
+                    reader.close();
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            });
+        } catch (IOException exception) {
+            throw new QuestionReadException(exception.getMessage(), exception);
+        }
+    }
+
+    // A line is blank when it has nothing but ASCII whitespace, the header line is not a question
+    private static final class Builder {
+
+        private long[] offsets = new long[16];
+
+        private int[] linesBefore = new int[16];
+
+        private int questionCount;
+
+        private int line;
+
+        private long lineStart;
+
+        private boolean blank = true;
+
+        private long position;
+
+        private void scan(ByteBuffer buffer) {
+            int limit = buffer.limit();
+            for (int i = 0; i < limit; i++) {
+                byte b = buffer.get(i);
+                if (b == '\n') {
+                    endLine();
+                    lineStart = position + i + 1;
+                } else if (blank && !isWhitespace(b)) {
+                    blank = false;
+                }
+            }
+            position += limit;
+        }
+
+        private void endLine() {
+            if (line > 0 && !blank) {
+                if (questionCount % QUESTIONS_PER_OFFSET == 0) {
+                    int checkpoint = questionCount / QUESTIONS_PER_OFFSET;
+                    if (checkpoint == offsets.length) {
+                        offsets = Arrays.copyOf(offsets, checkpoint * 2);
+                        linesBefore = Arrays.copyOf(linesBefore, checkpoint * 2);
+                    }
+                    offsets[checkpoint] = lineStart;
+                    linesBefore[checkpoint] = line;
+                }
+                questionCount = Math.addExact(questionCount, 1);
+            }
+            line = Math.addExact(line, 1);
+            blank = true;
+        }
+
+        private static boolean isWhitespace(byte b) {
+            return b == ' ' || b >= '\t' && b <= '\r' || b >= 0x1C && b <= 0x1F;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package ru.otus.hw.dao;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import ru.otus.hw.config.TestFileNameProvider;
+import ru.otus.hw.domain.Question;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+// Test files named "file:<path>" are read from disk through a CsvQuestionIndex, so a bank of any size
+// needs almost no heap. Everything else comes from the class path
+@Primary
+@Component
+@RequiredArgsConstructor
+public class ExternalCsvQuestionDao implements QuestionDao {
+
+    private static final String FILE_PREFIX = "file:";
+
+    private final TestFileNameProvider fileNameProvider;
+
+    private final BinaryQuestionDao binaryQuestionDao;
+
+    private final Map<Path, CsvQuestionIndex> indexes = new ConcurrentHashMap<>();
+
+    @Override
+    public List<Question> findAll() {
+        var index = findIndex();
+        return index != null ? index : binaryQuestionDao.findAll();
+    }
+
+    @Override
+    public Stream<Question> stream() {
+        var index = findIndex();
+        return index != null ? index.stream() : binaryQuestionDao.stream();
+    }
+
+    private CsvQuestionIndex findIndex() {
+        String fileName = fileNameProvider.getTestFileName();
+        if (!fileName.startsWith(FILE_PREFIX)) {
+            return null;
+        }
+        Path path = Path.of(fileName.substring(FILE_PREFIX.length()));
+        var index = indexes.get(path);
+        if (index == null || index.isStale()) {
+            // Built outside the map, so a long rebuild doesn't hold up lookups of other files. Racing rebuilds
+            // index the same file, whichever is stored last is as good as the other
+            index = CsvQuestionIndex.build(path);
+            indexes.put(path, index);
+        }
+        return index;
+    }
+}
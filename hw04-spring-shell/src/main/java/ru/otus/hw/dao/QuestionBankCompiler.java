@@ -0,0 +1,56 @@
+package ru.otus.hw.dao;
+
+import ru.otus.hw.exceptions.QuestionReadException;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Build step: compiles every *.csv question file of a directory into a *.qbank file. The CSV files are read
+// from the classes directory, so the size and modification time stored in a bank are those of the CSV
+// resource next to it
+public final class QuestionBankCompiler {
+
+    private static final String CSV_EXTENSION = ".csv";
+
+    private QuestionBankCompiler() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: QuestionBankCompiler <csv directory> <output directory>");
+        }
+        Path outputDirectory = Files.createDirectories(Path.of(args[1]));
+        List<Path> csvFiles;
+        try (Stream<Path> files = Files.list(Path.of(args[0]))) {
+            csvFiles = files.filter(file -> file.getFileName().toString().endsWith(CSV_EXTENSION)).sorted().toList();
+        }
+        for (Path csvFile : csvFiles) {
+            Path bankFile = outputDirectory.resolve(bankFileName(csvFile.getFileName().toString()));
+            // Written aside and moved in place, a running application may have the old bank mapped
+            Path compiledFile = Files.createTempFile(outputDirectory, bankFile.getFileName().toString(), ".tmp");
+            try (Reader reader = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8);
+                 OutputStream output = new BufferedOutputStream(Files.newOutputStream(compiledFile))) {
+                QuestionBank.write(QuestionCsvParser.parse(reader), Files.size(csvFile),
+                        Files.getLastModifiedTime(csvFile).toMillis(), output);
+            } catch (QuestionReadException exception) {
+                Files.delete(compiledFile);
+                throw new QuestionReadException(csvFile + ": " + exception.getMessage(), exception);
+            }
+            Files.move(compiledFile, bankFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    public static String bankFileName(String csvFileName) {
+        String baseName = csvFileName.endsWith(CSV_EXTENSION)
+                ? csvFileName.substring(0, csvFileName.length() - CSV_EXTENSION.length()) : csvFileName;
+        return baseName + QuestionBank.FILE_EXTENSION;
+    }
+}
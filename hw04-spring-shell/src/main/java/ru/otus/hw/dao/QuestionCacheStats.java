@@ -0,0 +1,4 @@
+package ru.otus.hw.dao;
+
+public record QuestionCacheStats(String fileName, int questions, long loads, long hits, long lastLoadMillis) {
+}
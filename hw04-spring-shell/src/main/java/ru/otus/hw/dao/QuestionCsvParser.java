@@ -0,0 +1,184 @@
+package ru.otus.hw.dao;
+
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.exceptions.QuestionReadException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// Reads "text;answer%true|answer%false" lines in one pass. Each line is copied once from the read buffer
+// and the fields are cut out of it by index. The first line is a header, blank lines are skipped
+public final class QuestionCsvParser {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Reader reader;
+
+    private final char[] buffer = new char[BUFFER_SIZE];
+
+    private int position;
+
+    private int limit;
+
+    private char[] line = new char[256];
+
+    private int lineLength;
+
+    private int lineNumber;
+
+    private QuestionCsvParser(Reader reader, int linesBefore) {
+        this.reader = reader;
+        this.lineNumber = linesBefore;
+    }
+
+    public static List<Question> parse(Reader reader) throws IOException {
+        var parser = withHeader(reader);
+        List<Question> questions = new ArrayList<>();
+        for (var question = parser.next(); question != null; question = parser.next()) {
+            questions.add(question);
+        }
+        return questions;
+    }
+
+    public static QuestionCsvParser withHeader(Reader reader) throws IOException {
+        var parser = new QuestionCsvParser(reader, 0);
+        parser.readLine();
+        return parser;
+    }
+
+    // For a reader positioned inside a file, the lines before it only count for error messages
+    public static QuestionCsvParser fromLine(Reader reader, int linesBefore) {
+        return new QuestionCsvParser(reader, linesBefore);
+    }
+
+    // Returns null at the end of input
+    public Question next() throws IOException {
+        while (readLine()) {
+            var question = parseLine();
+            if (question != null) {
+                return question;
+            }
+        }
+        return null;
+    }
+
+    // Moves past the next question without parsing it, returns false at the end of input
+    public boolean skip() throws IOException {
+        while (readLine()) {
+            if (skipWhitespace(0, lineLength) < lineLength) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean readLine() throws IOException {
+        lineLength = 0;
+        boolean read = false;
+        while (true) {
+            if (position == limit) {
+                limit = reader.read(buffer, 0, BUFFER_SIZE);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    break;
+                }
+            }
+            read = true;
+            int end = position;
+            while (end < limit && buffer[end] != '\n') {
+                end++;
+            }
+            append(position, end);
+            if (end < limit) {
+                position = end + 1;
+                break;
+            }
+            position = limit;
+        }
+        if (lineLength > 0 && line[lineLength - 1] == '\r') {
+            lineLength--;
+        }
+        lineNumber++;
+        return read;
+    }
+
+    private void append(int from, int to) {
+        int length = to - from;
+        if (lineLength + length > line.length) {
+            var grown = new char[Math.max(line.length * 2, lineLength + length)];
+            System.arraycopy(line, 0, grown, 0, lineLength);
+            line = grown;
+        }
+        System.arraycopy(buffer, from, line, lineLength, length);
+        lineLength += length;
+    }
+
+    private Question parseLine() {
+        int textStart = skipWhitespace(0, lineLength);
+        if (textStart == lineLength) {
+            return null;
+        }
+        int separator = indexOf(';', textStart, lineLength);
+        if (separator < 0) {
+            throw error("no answers after the question text");
+        }
+        int answersEnd = indexOf(';', separator + 1, lineLength);
+        if (answersEnd < 0) {
+            answersEnd = lineLength;
+        }
+        List<Answer> answers = new ArrayList<>(4);
+        int answerStart = skipWhitespace(separator + 1, answersEnd);
+        while (true) {
+            int answerEnd = indexOf('|', answerStart, answersEnd);
+            if (answerEnd < 0) {
+                answers.add(parseAnswer(answerStart, answersEnd));
+                break;
+            }
+            answers.add(parseAnswer(answerStart, answerEnd));
+            answerStart = answerEnd + 1;
+        }
+        return new Question(new String(line, textStart, separator - textStart), answers);
+    }
+
+    // The flag follows the last %, so the answer text itself may contain %
+    private Answer parseAnswer(int from, int to) {
+        int flag = to - 1;
+        while (flag >= from && line[flag] != '%') {
+            flag--;
+        }
+        if (flag < from) {
+            throw error("answer '%s' has no %%true or %%false flag".formatted(new String(line, from, to - from)));
+        }
+        return new Answer(new String(line, from, flag - from), isTrue(flag + 1, to));
+    }
+
+    private boolean isTrue(int from, int to) {
+        return to - from == 4
+                && Character.toLowerCase(line[from]) == 't' && Character.toLowerCase(line[from + 1]) == 'r'
+                && Character.toLowerCase(line[from + 2]) == 'u' && Character.toLowerCase(line[from + 3]) == 'e';
+    }
+
+    private int indexOf(char c, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (line[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int skipWhitespace(int from, int to) {
+        while (from < to && Character.isWhitespace(line[from])) {
+            from++;
+        }
+        return from;
+    }
+
+    private QuestionReadException error(String reason) {
+        return new QuestionReadException("Line %d: %s".formatted(lineNumber, reason));
+    }
+}
@@ -3,7 +3,20 @@ package ru.otus.hw.dao;
 import ru.otus.hw.domain.Question;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface QuestionDao {
     List<Question> findAll();
+
+    default int count() {
+        return findAll().size();
+    }
+
+    default Question get(int index) {
+        return findAll().get(index);
+    }
+
+    default Stream<Question> stream() {
+        return findAll().stream();
+    }
 }
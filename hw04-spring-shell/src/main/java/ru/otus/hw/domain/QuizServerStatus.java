@@ -0,0 +1,5 @@
+package ru.otus.hw.domain;
+
+public record QuizServerStatus(boolean running, int port, int activeSessions, long completedSessions,
+                               long failedSessions, long rejectedSessions) {
+}
@@ -2,9 +2,12 @@ package ru.otus.hw.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Service;
 import ru.otus.hw.config.LocaleConfig;
 
+// LocalizedIOServiceImpl is a LocalizedMessagesService too, this one is injected where only messages are needed
+@Primary
 @RequiredArgsConstructor
 @Service
 public class LocalizedMessagesServiceImpl implements LocalizedMessagesService {
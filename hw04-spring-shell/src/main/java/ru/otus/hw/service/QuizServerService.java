@@ -0,0 +1,11 @@
+package ru.otus.hw.service;
+
+import ru.otus.hw.domain.QuizServerStatus;
+
+public interface QuizServerService {
+    int start(int port);
+
+    void stop();
+
+    QuizServerStatus getStatus();
+}
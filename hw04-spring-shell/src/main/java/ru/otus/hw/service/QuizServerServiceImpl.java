@@ -0,0 +1,170 @@
+package ru.otus.hw.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import ru.otus.hw.config.QuizServerProperties;
+import ru.otus.hw.config.TestConfig;
+import ru.otus.hw.dao.QuestionDao;
+import ru.otus.hw.domain.QuizServerStatus;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Runs tests for many students at once over a line protocol on a loopback TCP port: the server writes
+// prompts and questions as UTF-8 lines, the client answers with one line each, as in the console.
+// Every connection gets its own IO and runs on its own small-stack thread, the question bank is shared
+@Service
+@RequiredArgsConstructor
+public class QuizServerServiceImpl implements QuizServerService {
+
+    private static final long STOP_TIMEOUT_SECONDS = 5;
+
+    private final QuizServerProperties properties;
+
+    private final QuestionDao questionDao;
+
+    private final LocalizedMessagesService localizedMessagesService;
+
+    private final TestConfig testConfig;
+
+    private final Set<Socket> sessionSockets = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger activeSessions = new AtomicInteger();
+
+    private final LongAdder completedSessions = new LongAdder();
+
+    private final LongAdder failedSessions = new LongAdder();
+
+    private final LongAdder rejectedSessions = new LongAdder();
+
+    private ServerSocket serverSocket;
+
+    private ThreadPoolExecutor sessionExecutor;
+
+    @Override
+    public synchronized int start(int port) {
+        if (serverSocket != null) {
+            throw new IllegalStateException("Quiz server is already running on port " + serverSocket.getLocalPort());
+        }
+        try {
+            serverSocket = new ServerSocket(port, properties.getMaxSessions(), InetAddress.getLoopbackAddress());
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        sessionExecutor = new ThreadPoolExecutor(0, properties.getMaxSessions(), 1, TimeUnit.MINUTES,
+                new SynchronousQueue<>(), threadFactory("quiz-session-", properties.getSessionStackSize().toBytes()));
+        var server = serverSocket;
+        var executor = sessionExecutor;
+        threadFactory("quiz-server-", 0).newThread(() -> acceptSessions(server, executor)).start();
+        return serverSocket.getLocalPort();
+    }
+
+    @PreDestroy
+    @Override
+    public synchronized void stop() {
+        if (serverSocket == null) {
+            return;
+        }
+        closeQuietly(serverSocket);
+        sessionSockets.forEach(this::closeQuietly);
+        sessionExecutor.shutdown();
+        try {
+            sessionExecutor.awaitTermination(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        serverSocket = null;
+        sessionExecutor = null;
+    }
+
+    @Override
+    public synchronized QuizServerStatus getStatus() {
+        return new QuizServerStatus(serverSocket != null, serverSocket != null ? serverSocket.getLocalPort() : 0,
+                activeSessions.get(), completedSessions.sum(), failedSessions.sum(), rejectedSessions.sum());
+    }
+
+    private void acceptSessions(ServerSocket server, ThreadPoolExecutor executor) {
+        while (!server.isClosed()) {
+            Socket socket;
+            try {
+                socket = server.accept();
+            } catch (IOException exception) {
+                return;
+            }
+            // Registered before the session starts, so stop() closes it even if it hasn't started yet
+            sessionSockets.add(socket);
+            try {
+                executor.execute(() -> runSession(socket));
+            } catch (RejectedExecutionException exception) {
+                sessionSockets.remove(socket);
+                rejectedSessions.increment();
+                rejectSession(socket);
+            }
+        }
+    }
+
+    private void runSession(Socket socket) {
+        activeSessions.incrementAndGet();
+        try (socket) {
+            socket.setSoTimeout(Math.toIntExact(properties.getIdleTimeout().toMillis()));
+            var ioService = sessionIOService(socket);
+            var student = new StudentServiceImpl(ioService).determineCurrentStudent();
+            var testResult = new TestServiceImpl(ioService, questionDao).executeTestFor(student);
+            new ResultServiceImpl(testConfig, ioService).showResult(testResult);
+            completedSessions.increment();
+        } catch (IOException | RuntimeException exception) {
+            // The student left, went silent for too long or the server is stopping
+            failedSessions.increment();
+        } finally {
+            sessionSockets.remove(socket);
+            activeSessions.decrementAndGet();
+        }
+    }
+
+    private void rejectSession(Socket socket) {
+        try (socket) {
+            sessionIOService(socket).printLineLocalized("QuizServer.busy");
+        } catch (IOException | RuntimeException exception) {
+            // Nothing to do, the connection is dropped either way
+        }
+    }
+
+    private LocalizedIOService sessionIOService(Socket socket) throws IOException {
+        var printStream = new PrintStream(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+        var ioService = new StreamsIOService(printStream, socket.getInputStream(), StandardCharsets.UTF_8);
+        return new LocalizedIOServiceImpl(localizedMessagesService, ioService);
+    }
+
+    private void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException exception) {
+            // Closing is all that is left to do with it
+        }
+    }
+
+    private static ThreadFactory threadFactory(String namePrefix, long stackSize) {
+        var threadNumber = new AtomicInteger();
+        return runnable -> {
+            var thread = new Thread(null, runnable, namePrefix + threadNumber.incrementAndGet(), stackSize);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
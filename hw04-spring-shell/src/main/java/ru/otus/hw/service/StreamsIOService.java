@@ -1,10 +1,12 @@
 package ru.otus.hw.service;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.InputStream;
 import java.io.PrintStream;
+import java.nio.charset.Charset;
 import java.util.Scanner;
 
 @Service
@@ -15,6 +17,7 @@ public class StreamsIOService implements IOService {
 
     private final Scanner scanner;
 
+    @Autowired
     public StreamsIOService(@Value("#{T(System).out}") PrintStream printStream,
                             @Value("#{T(System).in}") InputStream inputStream) {
 
@@ -22,6 +25,11 @@ public class StreamsIOService implements IOService {
         this.scanner = new Scanner(inputStream);
     }
 
+    public StreamsIOService(PrintStream printStream, InputStream inputStream, Charset charset) {
+        this.printStream = printStream;
+        this.scanner = new Scanner(inputStream, charset);
+    }
+
     @Override
     public void printLine(String s) {
         printStream.println(s);
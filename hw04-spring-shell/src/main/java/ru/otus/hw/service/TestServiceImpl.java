@@ -7,8 +7,6 @@ import ru.otus.hw.domain.Question;
 import ru.otus.hw.domain.Student;
 import ru.otus.hw.domain.TestResult;
 
-import java.util.List;
-
 @Service
 public class TestServiceImpl implements TestService {
 
@@ -27,24 +25,26 @@ public class TestServiceImpl implements TestService {
     public TestResult executeTestFor(Student student) {
         ioService.printLine("");
         ioService.printFormattedLineLocalized("TestService.answer.the.questions");
+        // One lazy list for the whole run, so a bank reloaded meanwhile can't mix into it
         var questions = questionDao.findAll();
         var testResult = new TestResult(student);
 
         for (int i = 0; i < questions.size(); i++) {
-            showQuestion(questions, i);
-            var numberOfAnswer = ioService.readIntForRangeWithPromptLocalized(1, questions.get(i).answers().size(),
+            var question = questions.get(i);
+            showQuestion(question, i);
+            var numberOfAnswer = ioService.readIntForRangeWithPromptLocalized(1, question.answers().size(),
                     "TestService.answer.the.questions", "TestService.invalid.answer");
-            testResult.applyAnswer(questions.get(i), questions.get(i).answers().get(numberOfAnswer - 1).isCorrect());
+            testResult.applyAnswer(question, question.answers().get(numberOfAnswer - 1).isCorrect());
         }
 
         return testResult;
     }
 
-    private void showQuestion(List<Question> questions, int questionNumber) {
-        ioService.printFormattedLine(questionNumber + 1 + ". %s", questions.get(questionNumber).text());
-        var answers = questions.get(questionNumber).answers();
+    private void showQuestion(Question question, int questionIndex) {
+        ioService.printFormattedLine(questionIndex + 1 + ". %s", question.text());
+        var answers = question.answers();
         for (int i = 0; i < answers.size(); i++) {
             ioService.printFormattedLine("  " + (i + 1) + ") %s", answers.get(i).text());
         }
     }
-}
\ No newline at end of file
+}
@@ -6,10 +6,15 @@ import org.springframework.shell.standard.ShellComponent;
 import org.springframework.shell.standard.ShellMethod;
 import org.springframework.shell.standard.ShellMethodAvailability;
 import org.springframework.shell.standard.ShellOption;
+import ru.otus.hw.dao.BinaryQuestionDao;
+import ru.otus.hw.dao.CachingQuestionDao;
 import ru.otus.hw.domain.Student;
 import ru.otus.hw.service.ResultService;
 import ru.otus.hw.service.TestService;
 
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 @ShellComponent(value = "Application Events Commands")
 @RequiredArgsConstructor
 public class ApplicationCommands {
@@ -18,6 +23,10 @@ public class ApplicationCommands {
 
     private final ResultService resultService;
 
+    private final BinaryQuestionDao binaryQuestionDao;
+
+    private final CachingQuestionDao cachingQuestionDao;
+
     private boolean isUserLoggedIn;
 
     private Student student;
@@ -36,6 +45,17 @@ public class ApplicationCommands {
         return String.format("Добро пожаловать: %s", firstName + " " + lastName);
     }
 
+    @ShellMethod(value = "Question cache statistics", key = {"qc", "question-cache"})
+    public String questionCacheStats() {
+        var banks = binaryQuestionDao.getLoadedBanks().entrySet().stream()
+                .map(bank -> "%s: вопросов %d, скомпилированный банк".formatted(bank.getKey(), bank.getValue()));
+        var stats = cachingQuestionDao.getStats().stream()
+                .map(s -> "%s: вопросов %d, загрузок %d, попаданий %d, последняя загрузка %d мс".formatted(
+                        s.fileName(), s.questions(), s.loads(), s.hits(), s.lastLoadMillis()));
+        var lines = Stream.concat(banks, stats).collect(Collectors.joining(System.lineSeparator()));
+        return lines.isEmpty() ? "Вопросы еще не загружались" : lines;
+    }
+
     private Availability isRunTestCommandAvailable() {
         return isUserLoggedIn
                 ? Availability.available()
@@ -0,0 +1,33 @@
+package ru.otus.hw.shell;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+import ru.otus.hw.service.QuizServerService;
+
+@ShellComponent(value = "Quiz Server Commands")
+@RequiredArgsConstructor
+public class QuizServerCommands {
+
+    private final QuizServerService quizServerService;
+
+    @ShellMethod(value = "Start quiz server on a local TCP port", key = {"ss", "server-start"})
+    public String startServer(@ShellOption(defaultValue = "7070") int port) {
+        return "Сервер тестирования слушает порт %d".formatted(quizServerService.start(port));
+    }
+
+    @ShellMethod(value = "Stop quiz server", key = {"sst", "server-stop"})
+    public String stopServer() {
+        quizServerService.stop();
+        return "Сервер тестирования остановлен";
+    }
+
+    @ShellMethod(value = "Quiz server status", key = {"sss", "server-status"})
+    public String serverStatus() {
+        var status = quizServerService.getStatus();
+        return "%s, сессий: идет %d, завершено %d, прервано %d, отклонено %d".formatted(
+                status.running() ? "Порт " + status.port() : "Сервер не запущен", status.activeSessions(),
+                status.completedSessions(), status.failedSessions(), status.rejectedSessions());
+    }
+}
@@ -0,0 +1,82 @@
+package ru.otus.hw.dao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.otus.hw.config.TestFileNameProvider;
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CachingQuestionDaoTest {
+
+    private CsvQuestionDao csvQuestionDao;
+
+    private TestFileNameProvider fileNameProvider;
+
+    private CachingQuestionDao cachingQuestionDao;
+
+    @BeforeEach
+    void setUp() {
+        csvQuestionDao = mock(CsvQuestionDao.class);
+        fileNameProvider = mock(TestFileNameProvider.class);
+        cachingQuestionDao = new CachingQuestionDao(csvQuestionDao, fileNameProvider);
+        when(csvQuestionDao.findAll("questions.csv")).thenReturn(questions("Question"));
+        when(csvQuestionDao.findAll("questions_ru.csv")).thenReturn(questions("Вопрос"));
+    }
+
+    @Test
+    void testFindAllParsesEachFileOnce() {
+        when(fileNameProvider.getTestFileName()).thenReturn("questions.csv", "questions.csv", "questions_ru.csv",
+                "questions.csv");
+
+        List<Question> first = cachingQuestionDao.findAll();
+        List<Question> second = cachingQuestionDao.findAll();
+        List<Question> russian = cachingQuestionDao.findAll();
+        List<Question> third = cachingQuestionDao.findAll();
+
+        assertSame(first, second);
+        assertSame(first, third);
+        assertEquals("Вопрос", russian.get(0).text());
+        verify(csvQuestionDao, times(1)).findAll("questions.csv");
+        verify(csvQuestionDao, times(1)).findAll("questions_ru.csv");
+        assertEquals(List.of(new QuestionCacheStats("questions.csv", 1, 1, 2, 0),
+                new QuestionCacheStats("questions_ru.csv", 1, 1, 0, 0)), withoutLoadTime());
+        assertThrows(UnsupportedOperationException.class, () -> first.get(0).answers().clear());
+    }
+
+    @Test
+    void testFindAllReloadsChangedFile() {
+        when(fileNameProvider.getTestFileName()).thenReturn("questions.csv");
+        when(csvQuestionDao.getLastModified("questions.csv")).thenReturn(1L, 1L, 2L, 2L);
+
+        List<Question> first = cachingQuestionDao.findAll();
+        cachingQuestionDao.findAll();
+        List<Question> reloaded = cachingQuestionDao.findAll();
+        cachingQuestionDao.findAll();
+
+        assertEquals(first, reloaded);
+        verify(csvQuestionDao, times(2)).findAll("questions.csv");
+        assertEquals(List.of(new QuestionCacheStats("questions.csv", 1, 2, 2, 0)), withoutLoadTime());
+    }
+
+    private List<QuestionCacheStats> withoutLoadTime() {
+        return cachingQuestionDao.getStats().stream()
+                .map(s -> new QuestionCacheStats(s.fileName(), s.questions(), s.loads(), s.hits(), 0))
+                .toList();
+    }
+
+    private static List<Question> questions(String text) {
+        List<Answer> answers = new ArrayList<>(List.of(new Answer("Yes", true), new Answer("No", false)));
+        return new ArrayList<>(List.of(new Question(text, answers)));
+    }
+}
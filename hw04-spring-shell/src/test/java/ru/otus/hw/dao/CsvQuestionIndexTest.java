@@ -0,0 +1,88 @@
+package ru.otus.hw.dao;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.exceptions.QuestionReadException;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvQuestionIndexTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void testGetReadsQuestionsOnDemand() throws IOException {
+        String csv = questionsCsv(300);
+        Path file = Files.writeString(directory.resolve("bank.csv"), csv);
+        List<Question> parsed = QuestionCsvParser.parse(new StringReader(csv));
+
+        CsvQuestionIndex index = CsvQuestionIndex.build(file);
+
+        assertEquals(300, index.size());
+        assertEquals(parsed.get(0), index.get(0));
+        assertEquals(parsed.get(64), index.get(64));
+        assertEquals(parsed.get(299), index.get(299));
+        assertEquals(parsed, index);
+        assertThrows(IndexOutOfBoundsException.class, () -> index.get(300));
+    }
+
+    @Test
+    void testStreamReadsFileInOrder() throws IOException {
+        String csv = questionsCsv(100);
+        Path file = Files.writeString(directory.resolve("bank.csv"), csv);
+
+        try (Stream<Question> questions = CsvQuestionIndex.build(file).stream()) {
+            assertEquals(QuestionCsvParser.parse(new StringReader(csv)), questions.toList());
+        }
+    }
+
+    @Test
+    void testGetReportsLineOfMalformedQuestion() throws IOException {
+        Path file = Files.writeString(directory.resolve("bank.csv"),
+                questionsCsv(70) + "no answers\r\nLast?;Yes%true\r\n");
+
+        CsvQuestionIndex index = CsvQuestionIndex.build(file);
+
+        assertEquals(72, index.size());
+        var exception = assertThrows(QuestionReadException.class, () -> index.get(70));
+        assertEquals("Line %d: no answers after the question text".formatted(csvLines(70) + 1),
+                exception.getMessage());
+    }
+
+    @Test
+    void testGetFailsOnceFileIsChanged() throws IOException {
+        Path file = Files.writeString(directory.resolve("bank.csv"), questionsCsv(3));
+        CsvQuestionIndex index = CsvQuestionIndex.build(file);
+
+        Files.writeString(file, questionsCsv(5));
+
+        assertThrows(QuestionReadException.class, () -> index.get(0));
+    }
+
+    // A header, then questions with a blank line after every tenth one
+    private static String questionsCsv(int count) {
+        var csv = new StringBuilder("# header\r\n");
+        for (int i = 0; i < count; i++) {
+            csv.append("Вопрос ").append(i).append("?;Да%").append(i % 2 == 0).append("|Нет%")
+                    .append(i % 2 != 0).append("\r\n");
+            if (i % 10 == 9) {
+                csv.append("  \r\n");
+            }
+        }
+        return csv.toString();
+    }
+
+    private static int csvLines(int count) {
+        return 1 + count + count / 10;
+    }
+}
@@ -0,0 +1,66 @@
+package ru.otus.hw.dao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.otus.hw.config.TestFileNameProvider;
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExternalCsvQuestionDaoTest {
+
+    @TempDir
+    private Path directory;
+
+    @Mock
+    private TestFileNameProvider fileNameProvider;
+
+    @Mock
+    private BinaryQuestionDao binaryQuestionDao;
+
+    private ExternalCsvQuestionDao externalCsvQuestionDao;
+
+    @BeforeEach
+    void setUp() {
+        externalCsvQuestionDao = new ExternalCsvQuestionDao(fileNameProvider, binaryQuestionDao);
+    }
+
+    @Test
+    void testReadsExternalFileAndReindexesItAfterChange() throws IOException {
+        Path file = Files.writeString(directory.resolve("bank.csv"), "header\nFirst?;Yes%true|No%false\n");
+        when(fileNameProvider.getTestFileName()).thenReturn("file:" + file);
+
+        assertEquals(1, externalCsvQuestionDao.count());
+        Files.writeString(file, "header\nFirst?;Yes%true|No%false\nSecond?;Yes%false|No%true\n");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 1000));
+
+        assertEquals(2, externalCsvQuestionDao.count());
+        assertEquals(new Question("Second?", List.of(new Answer("Yes", false), new Answer("No", true))),
+                externalCsvQuestionDao.get(1));
+        verifyNoInteractions(binaryQuestionDao);
+    }
+
+    @Test
+    void testReadsClassPathFilesThroughBinaryDao() {
+        List<Question> questions = List.of();
+        when(fileNameProvider.getTestFileName()).thenReturn("questions.csv");
+        when(binaryQuestionDao.findAll()).thenReturn(questions);
+
+        assertSame(questions, externalCsvQuestionDao.findAll());
+    }
+}
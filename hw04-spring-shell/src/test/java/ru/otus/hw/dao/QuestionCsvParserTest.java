@@ -0,0 +1,57 @@
+package ru.otus.hw.dao;
+
+import org.junit.jupiter.api.Test;
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.exceptions.QuestionReadException;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuestionCsvParserTest {
+
+    @Test
+    void testParseSkipsHeaderAndBlankLines() throws IOException {
+        String csv = "# header;skipped%true\r\n"
+                + "\r\n"
+                + "  Is 2 + 2 = 4?;  Yes%true|No%FALSE\r\n"
+                + "   \n"
+                + "Discount?;50% off%True|none%false;ignored column";
+
+        List<Question> questions = QuestionCsvParser.parse(new StringReader(csv));
+
+        assertEquals(List.of(
+                new Question("Is 2 + 2 = 4?", List.of(new Answer("Yes", true), new Answer("No", false))),
+                new Question("Discount?", List.of(new Answer("50% off", true), new Answer("none", false)))
+        ), questions);
+    }
+
+    @Test
+    void testParseReadsLinesLongerThanReadBuffer() throws IOException {
+        String longText = "q".repeat(20_000);
+        String csv = "header\n" + "first;a%true\n" + longText + ";" + "b".repeat(9_000) + "%false|c%true\n";
+
+        List<Question> questions = QuestionCsvParser.parse(new StringReader(csv));
+
+        assertEquals(2, questions.size());
+        assertEquals(longText, questions.get(1).text());
+        assertEquals(9_000, questions.get(1).answers().get(0).text().length());
+        assertTrue(questions.get(1).answers().get(1).isCorrect());
+    }
+
+    @Test
+    void testParseReportsLineOfMalformedQuestion() {
+        var noAnswers = assertThrows(QuestionReadException.class,
+                () -> QuestionCsvParser.parse(new StringReader("header\nfirst;a%true\nsecond question\n")));
+        var noFlag = assertThrows(QuestionReadException.class,
+                () -> QuestionCsvParser.parse(new StringReader("header\n\nfirst;a%true|b\n")));
+
+        assertEquals("Line 3: no answers after the question text", noAnswers.getMessage());
+        assertEquals("Line 3: answer 'b' has no %true or %false flag", noFlag.getMessage());
+    }
+}
@@ -0,0 +1,100 @@
+package ru.otus.hw.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "quiz-server.max-sessions=40")
+class QuizServerServiceImplTest {
+
+    private static final int MAX_SESSIONS = 40;
+
+    @Autowired
+    private QuizServerService quizServerService;
+
+    @AfterEach
+    void tearDown() {
+        quizServerService.stop();
+    }
+
+    @Test
+    @DisplayName("Должен проводить тесты для нескольких студентов одновременно")
+    void start_ShouldServeConcurrentSessions() {
+        int port = quizServerService.start(0);
+        long completedBefore = quizServerService.getStatus().completedSessions();
+        ExecutorService clients = Executors.newFixedThreadPool(MAX_SESSIONS);
+        try {
+            List<CompletableFuture<String>> outputs = new ArrayList<>();
+            for (int i = 0; i < MAX_SESSIONS; i++) {
+                String input = "Student\n%d\n1\n1\n%d\n".formatted(i, i % 2 == 0 ? 3 : 1);
+                outputs.add(CompletableFuture.supplyAsync(() -> talk(port, input), clients));
+            }
+
+            for (int i = 0; i < MAX_SESSIONS; i++) {
+                String output = outputs.get(i).join();
+                assertTrue(output.contains("Student: Student " + i), output);
+                assertTrue(output.contains("Right answers count: " + (i % 2 == 0 ? 3 : 2)), output);
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+        assertEquals(completedBefore + MAX_SESSIONS, quizServerService.getStatus().completedSessions());
+    }
+
+    @Test
+    @DisplayName("Должен отклонять подключения сверх лимита и закрывать сессии при остановке")
+    void start_ShouldRejectSessionsOverLimit() throws Exception {
+        int port = quizServerService.start(0);
+        var before = quizServerService.getStatus();
+        List<Socket> idleSockets = new ArrayList<>();
+        try {
+            for (int i = 0; i < MAX_SESSIONS; i++) {
+                idleSockets.add(new Socket(InetAddress.getLoopbackAddress(), port));
+            }
+            while (quizServerService.getStatus().activeSessions() < MAX_SESSIONS) {
+                Thread.sleep(10);
+            }
+
+            String output = talk(port, "");
+            quizServerService.stop();
+
+            assertEquals("Too many examinees at the moment. Please try again later.", output.strip());
+            var after = quizServerService.getStatus();
+            assertFalse(after.running());
+            assertEquals(0, after.activeSessions());
+            assertEquals(before.rejectedSessions() + 1, after.rejectedSessions());
+            assertEquals(before.failedSessions() + MAX_SESSIONS, after.failedSessions());
+        } finally {
+            for (Socket socket : idleSockets) {
+                socket.close();
+            }
+        }
+    }
+
+    private static String talk(int port, String input) {
+        try (var socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            socket.getOutputStream().write(input.getBytes(StandardCharsets.UTF_8));
+            socket.shutdownOutput();
+            return new String(socket.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
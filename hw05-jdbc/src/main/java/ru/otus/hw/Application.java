@@ -2,8 +2,11 @@ package ru.otus.hw;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import ru.otus.hw.config.ReferenceCacheProperties;
 
 @SpringBootApplication
+@EnableConfigurationProperties(ReferenceCacheProperties.class)
 public class Application {
 
 	public static void main(String[] args) {
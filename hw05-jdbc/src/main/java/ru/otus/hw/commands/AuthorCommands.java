@@ -3,6 +3,7 @@ package ru.otus.hw.commands;
 import lombok.RequiredArgsConstructor;
 import org.springframework.shell.standard.ShellComponent;
 import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
 import ru.otus.hw.converters.AuthorConverter;
 import ru.otus.hw.services.AuthorService;
 
@@ -12,13 +13,18 @@ import java.util.stream.Collectors;
 @ShellComponent
 public class AuthorCommands {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
     private final AuthorService authorService;
 
     private final AuthorConverter authorConverter;
 
     @ShellMethod(value = "Find all authors", key = "aa")
-    public String findAllAuthors() {
-        return authorService.findAll().stream()
+    public String findAllAuthors(@ShellOption(defaultValue = ShellOption.NULL) Long after,
+                                 @ShellOption(defaultValue = ShellOption.NULL) Integer limit) {
+        var authors = after == null && limit == null ? authorService.findAll()
+                : authorService.findPageAfter(after == null ? 0 : after, limit == null ? DEFAULT_PAGE_SIZE : limit);
+        return authors.stream()
                 .map(authorConverter::authorToString)
                 .collect(Collectors.joining("," + System.lineSeparator()));
     }
@@ -1,28 +1,45 @@
 package ru.otus.hw.commands;
 
 import lombok.RequiredArgsConstructor;
+import org.jline.terminal.Terminal;
 import org.springframework.shell.standard.ShellComponent;
 import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
 import ru.otus.hw.converters.BookConverter;
+import ru.otus.hw.models.Book;
+import ru.otus.hw.services.BookImportService;
 import ru.otus.hw.services.BookService;
 
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 @SuppressWarnings({"SpellCheckingInspection", "unused"})
 @RequiredArgsConstructor
 @ShellComponent
 public class BookCommands {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
     private final BookService bookService;
 
+    private final BookImportService bookImportService;
+
     private final BookConverter bookConverter;
 
+    private final Terminal terminal;
+
     @ShellMethod(value = "Find all books", key = "ab")
-    public String findAllBooks() {
-        return bookService.findAll().stream()
-                .map(bookConverter::bookToString)
-                .collect(Collectors.joining("," + System.lineSeparator()));
+    public void findAllBooks(@ShellOption(defaultValue = ShellOption.NULL) Long after,
+                             @ShellOption(defaultValue = ShellOption.NULL) Integer limit) {
+        var writer = terminal.writer();
+        Consumer<Book> printer = book -> writer.println(bookConverter.bookToString(book));
+        if (after == null && limit == null) {
+            bookService.forEachBook(printer);
+        } else {
+            bookService.findPageAfter(after == null ? 0 : after, limit == null ? DEFAULT_PAGE_SIZE : limit)
+                    .forEach(printer);
+        }
+        writer.flush();
     }
 
     @ShellMethod(value = "Find book by id", key = "bbid")
@@ -46,6 +63,22 @@ public class BookCommands {
         return bookConverter.bookToString(savedBook);
     }
 
+    // bimp books.csv --batch-size 5000
+    @ShellMethod(value = "Import books from csv file", key = "bimp")
+    public String importBooks(String fileName,
+                              @ShellOption(value = "--batch-size", defaultValue = "1000") int batchSize) {
+        var result = bookImportService.importBooks(fileName, batchSize);
+        return "Imported %d books with %d genre links in %d ms (%.0f rows/sec)".formatted(
+                result.books(), result.genreLinks(), result.elapsed().toMillis(), result.rowsPerSecond());
+    }
+
+    @ShellMethod(value = "Show book write statistics", key = "bwstat")
+    public String showWriteStatistics() {
+        var statistics = bookService.getWriteStatistics();
+        return "Skipped book updates: %d, avoided genre link writes: %d, avoided rows total: %d".formatted(
+                statistics.skippedUpdates(), statistics.avoidedGenreLinkRows(), statistics.avoidedRows());
+    }
+
     // bdel 4
     @ShellMethod(value = "Delete book by id", key = "bdel")
     public void deleteBook(long id) {
@@ -0,0 +1,32 @@
+package ru.otus.hw.commands;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import ru.otus.hw.services.ReferenceCacheService;
+
+import java.util.stream.Collectors;
+
+@SuppressWarnings({"SpellCheckingInspection", "unused"})
+@RequiredArgsConstructor
+@ShellComponent
+public class CacheCommands {
+
+    private final ReferenceCacheService referenceCacheService;
+
+    @ShellMethod(value = "Show authors and genres cache statistics", key = "cstat")
+    public String showCacheStatistics() {
+        var sizes = referenceCacheService.sizes();
+        return referenceCacheService.stats().entrySet().stream()
+                .map(e -> "%s: size: %d, hits: %d, misses: %d, hit rate: %.2f, evictions: %d".formatted(
+                        e.getKey(), sizes.get(e.getKey()), e.getValue().hitCount(), e.getValue().missCount(),
+                        e.getValue().hitRate(), e.getValue().evictionCount()))
+                .collect(Collectors.joining(System.lineSeparator()));
+    }
+
+    @ShellMethod(value = "Evict all authors and genres from cache", key = "cevict")
+    public String evictCaches() {
+        referenceCacheService.invalidateAll();
+        return "Authors and genres caches cleared";
+    }
+}
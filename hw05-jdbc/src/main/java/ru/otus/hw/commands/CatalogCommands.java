@@ -0,0 +1,34 @@
+package ru.otus.hw.commands;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+import ru.otus.hw.services.CatalogGenerationSettings;
+import ru.otus.hw.services.CatalogGeneratorService;
+import ru.otus.hw.services.GenreDistribution;
+
+@SuppressWarnings({"SpellCheckingInspection", "unused"})
+@RequiredArgsConstructor
+@ShellComponent
+public class CatalogCommands {
+
+    private final CatalogGeneratorService catalogGeneratorService;
+
+    // gen --authors 1000 --genres 50 --books 1000000 --max-genres 3 --distribution ZIPF
+    @ShellMethod(value = "Generate synthetic catalog", key = "gen")
+    public String generateCatalog(@ShellOption(defaultValue = "100") int authors,
+                                  @ShellOption(defaultValue = "20") int genres,
+                                  @ShellOption(defaultValue = "1000") int books,
+                                  @ShellOption(value = "--min-genres", defaultValue = "1") int minGenres,
+                                  @ShellOption(value = "--max-genres", defaultValue = "3") int maxGenres,
+                                  @ShellOption(defaultValue = "UNIFORM") GenreDistribution distribution,
+                                  @ShellOption(defaultValue = "42") long seed,
+                                  @ShellOption(value = "--batch-size", defaultValue = "1000") int batchSize) {
+        var result = catalogGeneratorService.generate(new CatalogGenerationSettings(authors, genres, books,
+                minGenres, maxGenres, distribution, seed, batchSize));
+        return "Generated %d authors, %d genres, %d books, %d genre links in %d ms (%.0f rows/sec)"
+                .formatted(result.authors(), result.genres(), result.books(), result.genreLinks(),
+                        result.elapsed().toMillis(), result.rowsPerSecond());
+    }
+}
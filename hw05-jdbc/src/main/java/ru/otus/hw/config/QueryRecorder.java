@@ -0,0 +1,39 @@
+package ru.otus.hw.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Remembers every distinct statement the application prepares so its plan can be checked later
+@ConditionalOnProperty("query-audit.enabled")
+@Component
+public class QueryRecorder {
+
+    // IN-lists of varying length produce distinct statements, so the set is bounded
+    private static final int MAX_STATEMENTS = 1000;
+
+    private final Set<String> statements = ConcurrentHashMap.newKeySet();
+
+    public void record(String sql) {
+        if (statements.size() < MAX_STATEMENTS && isAuditable(sql)) {
+            statements.add(sql.strip());
+        }
+    }
+
+    public List<String> statements() {
+        return statements.stream().sorted().toList();
+    }
+
+    public void clear() {
+        statements.clear();
+    }
+
+    private static boolean isAuditable(String sql) {
+        String statement = sql.stripLeading().toLowerCase(Locale.ROOT);
+        return statement.startsWith("select") || statement.startsWith("update") || statement.startsWith("delete");
+    }
+}
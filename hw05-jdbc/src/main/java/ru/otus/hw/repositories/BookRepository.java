@@ -4,13 +4,20 @@ import ru.otus.hw.models.Book;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface BookRepository {
     Optional<Book> findById(long id);
 
     List<Book> findAll();
 
+    List<Book> findPageAfter(long lastId, int limit);
+
+    void forEachBook(Consumer<Book> action);
+
     Book save(Book book);
 
+    List<Book> insertAll(List<Book> books);
+
     void deleteById(long id);
 }
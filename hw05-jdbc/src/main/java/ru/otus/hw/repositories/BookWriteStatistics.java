@@ -0,0 +1,29 @@
+package ru.otus.hw.repositories;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class BookWriteStatistics {
+
+    private final AtomicLong skippedUpdates = new AtomicLong();
+
+    private final AtomicLong avoidedGenreLinkRows = new AtomicLong();
+
+    void recordSkippedUpdate() {
+        skippedUpdates.incrementAndGet();
+    }
+
+    void recordAvoidedGenreLinkRows(long rows) {
+        avoidedGenreLinkRows.addAndGet(rows);
+    }
+
+    public long getSkippedUpdates() {
+        return skippedUpdates.get();
+    }
+
+    public long getAvoidedGenreLinkRows() {
+        return avoidedGenreLinkRows.get();
+    }
+}
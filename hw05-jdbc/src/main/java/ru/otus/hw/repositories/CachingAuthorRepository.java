@@ -0,0 +1,92 @@
+package ru.otus.hw.repositories;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import ru.otus.hw.config.ReferenceCacheProperties;
+import ru.otus.hw.models.Author;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Primary
+@Repository
+public class CachingAuthorRepository implements AuthorRepository {
+
+    private static final String ALL_AUTHORS_KEY = "all";
+
+    private final JdbcAuthorRepository delegate;
+
+    private final Cache<Long, Author> authorsById;
+
+    private final Cache<String, List<Author>> allAuthors;
+
+    public CachingAuthorRepository(JdbcAuthorRepository delegate, ReferenceCacheProperties properties) {
+        this.delegate = delegate;
+        this.authorsById = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats()
+                .build();
+        this.allAuthors = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public List<Author> findAll() {
+        return allAuthors.get(ALL_AUTHORS_KEY, key -> {
+            List<Author> authors = delegate.findAll();
+            authors.forEach(author -> authorsById.put(author.getId(), author));
+            return List.copyOf(authors);
+        });
+    }
+
+    @Override
+    public List<Author> findPageAfter(long lastId, int limit) {
+        return delegate.findPageAfter(lastId, limit);
+    }
+
+    @Override
+    public Optional<Author> findById(long id) {
+        return Optional.ofNullable(authorsById.get(id, key -> delegate.findById(key).orElse(null)));
+    }
+
+    @Override
+    public List<Author> findAllByIds(Set<Long> ids) {
+        Map<Long, Author> authors = authorsById.getAll(ids, this::loadAllByIds);
+        return new ArrayList<>(authors.values());
+    }
+
+    public CacheStats stats() {
+        return authorsById.stats().plus(allAuthors.stats());
+    }
+
+    public long size() {
+        return authorsById.estimatedSize();
+    }
+
+    public void invalidateAll() {
+        authorsById.invalidateAll();
+        allAuthors.invalidateAll();
+    }
+
+    private Map<Long, Author> loadAllByIds(Set<? extends Long> ids) {
+        if (ids.isEmpty()) {
+            return new HashMap<>();
+        }
+        return delegate.findAllByIds(new HashSet<>(ids)).stream()
+                .collect(Collectors.toMap(Author::getId, Function.identity()));
+    }
+}
@@ -0,0 +1,86 @@
+package ru.otus.hw.repositories;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import ru.otus.hw.config.ReferenceCacheProperties;
+import ru.otus.hw.models.Genre;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Primary
+@Repository
+public class CachingGenreRepository implements GenreRepository {
+
+    private static final String ALL_GENRES_KEY = "all";
+
+    private final JdbcGenreRepository delegate;
+
+    private final Cache<Long, Genre> genresById;
+
+    private final Cache<String, List<Genre>> allGenres;
+
+    public CachingGenreRepository(JdbcGenreRepository delegate, ReferenceCacheProperties properties) {
+        this.delegate = delegate;
+        this.genresById = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats()
+                .build();
+        this.allGenres = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public List<Genre> findAll() {
+        return allGenres.get(ALL_GENRES_KEY, key -> {
+            List<Genre> genres = delegate.findAll();
+            genres.forEach(genre -> genresById.put(genre.getId(), genre));
+            return List.copyOf(genres);
+        });
+    }
+
+    @Override
+    public List<Genre> findPageAfter(long lastId, int limit) {
+        return delegate.findPageAfter(lastId, limit);
+    }
+
+    @Override
+    public List<Genre> findAllByIds(Set<Long> ids) {
+        Map<Long, Genre> genres = genresById.getAll(ids, this::loadAllByIds);
+        return new ArrayList<>(genres.values());
+    }
+
+    public CacheStats stats() {
+        return genresById.stats().plus(allGenres.stats());
+    }
+
+    public long size() {
+        return genresById.estimatedSize();
+    }
+
+    public void invalidateAll() {
+        genresById.invalidateAll();
+        allGenres.invalidateAll();
+    }
+
+    private Map<Long, Genre> loadAllByIds(Set<? extends Long> ids) {
+        if (ids.isEmpty()) {
+            return new HashMap<>();
+        }
+        return delegate.findAllByIds(new HashSet<>(ids)).stream()
+                .collect(Collectors.toMap(Genre::getId, Function.identity()));
+    }
+}
@@ -8,5 +8,7 @@ import java.util.Set;
 public interface GenreRepository {
     List<Genre> findAll();
 
+    List<Genre> findPageAfter(long lastId, int limit);
+
     List<Genre> findAllByIds(Set<Long> ids);
 }
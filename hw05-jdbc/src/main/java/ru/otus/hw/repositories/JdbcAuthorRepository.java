@@ -8,15 +8,20 @@ import ru.otus.hw.models.Author;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 @RequiredArgsConstructor
 public class JdbcAuthorRepository implements AuthorRepository {
 
+    // keeps the IN list well below the bind parameter limits of the common drivers
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
     private final NamedParameterJdbcOperations namedParameterJdbcOperations;
 
     @Override
@@ -24,6 +29,14 @@ public class JdbcAuthorRepository implements AuthorRepository {
         return namedParameterJdbcOperations.query("select id, full_name from authors", new AuthorRowMapper());
     }
 
+    @Override
+    public List<Author> findPageAfter(long lastId, int limit) {
+        Map<String, Object> params = Map.of("lastId", lastId, "limit", limit);
+        return namedParameterJdbcOperations.query(
+                "select id, full_name from authors where id > :lastId order by id limit :limit",
+                params, new AuthorRowMapper());
+    }
+
     @Override
     public Optional<Author> findById(long id) {
         Map<String, Object> params = Collections.singletonMap("id", id);
@@ -32,6 +45,18 @@ public class JdbcAuthorRepository implements AuthorRepository {
         ));
     }
 
+    @Override
+    public List<Author> findAllByIds(Set<Long> ids) {
+        List<Long> idsList = new ArrayList<>(ids);
+        List<Author> authors = new ArrayList<>(idsList.size());
+        for (int from = 0; from < idsList.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            List<Long> chunk = idsList.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, idsList.size()));
+            authors.addAll(namedParameterJdbcOperations.query("select id, full_name from authors where id in (:ids)",
+                    Collections.singletonMap("ids", chunk), new AuthorRowMapper()));
+        }
+        return authors;
+    }
+
     private static class AuthorRowMapper implements RowMapper<Author> {
 
         @Override
@@ -1,9 +1,7 @@
 package ru.otus.hw.repositories;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.dao.DataAccessException;
-import org.springframework.jdbc.core.ResultSetExtractor;
-import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
@@ -14,55 +12,84 @@ import ru.otus.hw.models.Author;
 import ru.otus.hw.models.Book;
 import ru.otus.hw.models.Genre;
 
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.function.Function;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Repository
 @RequiredArgsConstructor
 public class JdbcBookRepository implements BookRepository {
 
-    private final GenreRepository genreRepository;
+    private static final String SELECT_BOOKS_QUERY = "select b.id as book_id, b.title, " +
+            "a.id as author_id, a.full_name, " +
+            "g.id as genre_id, g.name as genre_name " +
+            "from books b " +
+            "join authors a on b.author_id = a.id " +
+            "left join books_genres bg on b.id = bg.book_id " +
+            "left join genres g on bg.genre_id = g.id ";
+
+    private static final int FETCH_SIZE = 1000;
 
     private final NamedParameterJdbcOperations namedParameterJdbcOperations;
 
-    private final AuthorRepository authorRepository;
+    private final BookWriteStatistics bookWriteStatistics;
 
     @Override
     public Optional<Book> findById(long id) {
-        String query = "select b.id as book_id, b.title, " +
-                "a.id as author_id, a.full_name, " +
-                "g.id as genre_id, g.name as genre_name " +
-                "from books b " +
-                "join authors a on b.author_id = a.id " +
-                "left join books_genres bg on b.id = bg.book_id " +
-                "left join genres g on bg.genre_id = g.id " +
-                "where b.id = :id";
-
         Map<String, Object> params = Collections.singletonMap("id", id);
 
-        Book book = namedParameterJdbcOperations.query(query, params, new BookResultSetExtractor());
+        List<Book> books = new ArrayList<>();
+        var rowHandler = new BooksRowCallbackHandler(books::add);
+        namedParameterJdbcOperations.query(SELECT_BOOKS_QUERY + "where b.id = :id", params, rowHandler);
+        rowHandler.complete();
 
-        return Optional.ofNullable(book);
+        return books.stream().findFirst();
     }
 
     @Override
     public List<Book> findAll() {
-        var genres = genreRepository.findAll();
-        var relations = getAllGenreRelations();
-        var books = getAllBooksWithoutGenres();
-        mergeBooksInfo(books, genres, relations);
+        List<Book> books = new ArrayList<>();
+        forEachBook(books::add);
+        return books;
+    }
+
+    @Override
+    public List<Book> findPageAfter(long lastId, int limit) {
+        Map<String, Object> params = Map.of("lastId", lastId, "limit", limit);
+
+        List<Book> books = new ArrayList<>();
+        var rowHandler = new BooksRowCallbackHandler(books::add);
+        namedParameterJdbcOperations.query(SELECT_BOOKS_QUERY +
+                "where b.id in (select id from books where id > :lastId order by id limit :limit) " +
+                "order by b.id, g.id", params, rowHandler);
+        rowHandler.complete();
+
         return books;
     }
 
+    @Override
+    public void forEachBook(Consumer<Book> action) {
+        var rowHandler = new BooksRowCallbackHandler(action);
+        namedParameterJdbcOperations.getJdbcOperations().query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_BOOKS_QUERY + "order by b.id, g.id",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, rowHandler);
+        rowHandler.complete();
+    }
+
     @Override
     public Book save(Book book) {
         if (book.getId() == 0) {
@@ -71,6 +98,27 @@ public class JdbcBookRepository implements BookRepository {
         return update(book);
     }
 
+    @Override
+    public List<Book> insertAll(List<Book> books) {
+        if (books.isEmpty()) {
+            return books;
+        }
+        var keyHolder = new GeneratedKeyHolder();
+        SqlParameterSource[] batchArgs = books.stream()
+                .map(book -> new MapSqlParameterSource().addValue("title", book.getTitle())
+                        .addValue("author_id", book.getAuthor().getId()))
+                .toArray(SqlParameterSource[]::new);
+        namedParameterJdbcOperations.batchUpdate("insert into books (title, author_id) values (:title, :author_id)",
+                batchArgs, keyHolder, new String[]{"id" });
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < books.size(); i++) {
+            books.get(i).setId(((Number) keys.get(i).values().iterator().next()).longValue());
+        }
+        batchInsertGenresRelationsFor(books);
+        return books;
+    }
+
     @Override
     public void deleteById(long id) {
         Map<String, Object> params = Collections.singletonMap("id", id);
@@ -79,39 +127,6 @@ public class JdbcBookRepository implements BookRepository {
         );
     }
 
-    private List<Book> getAllBooksWithoutGenres() {
-        return namedParameterJdbcOperations.query("select id, title, author_id from books",
-                new JdbcBookRepository.BookRowMapper(authorRepository));
-    }
-
-    private List<BookGenreRelation> getAllGenreRelations() {
-        return namedParameterJdbcOperations.query("select book_id, genre_id from books_genres",
-                new JdbcBookRepository.BookGenreRelationRowMapper());
-    }
-
-    private void mergeBooksInfo(List<Book> booksWithoutGenres, List<Genre> genres, List<BookGenreRelation> relations) {
-        Map<Long, Genre> genreMap = genres.stream()
-                .collect(Collectors.toMap(Genre::getId, Function.identity()));
-
-        Map<Long, Set<Long>> bookGenresMap = relations.stream()
-                .collect(Collectors.groupingBy(
-                        BookGenreRelation::bookId,
-                        Collectors.mapping(BookGenreRelation::genreId, Collectors.toSet())
-                ));
-
-        for (Book book : booksWithoutGenres) {
-            Set<Long> genreIds = bookGenresMap.get(book.getId());
-
-            List<Genre> bookGenres = (genreIds != null) ? genreIds.stream()
-                    .map(genreMap::get)
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toList())
-                    : Collections.emptyList();
-
-            book.setGenres(bookGenres);
-        }
-    }
-
     private Book insert(Book book) {
         var keyHolder = new GeneratedKeyHolder();
         SqlParameterSource parameterSource = new MapSqlParameterSource().addValue("title", book.getTitle())
@@ -119,98 +134,159 @@ public class JdbcBookRepository implements BookRepository {
         namedParameterJdbcOperations.update("insert into books (title, author_id) values (:title, :author_id)",
                 parameterSource, keyHolder, new String[]{"id" });
         book.setId(keyHolder.getKeyAs(Long.class));
-        batchInsertGenresRelationsFor(book);
+        batchInsertGenresRelationsFor(List.of(book));
         return book;
     }
 
     private Book update(Book book) {
-        SqlParameterSource parameters = new MapSqlParameterSource().addValue
-                ("title", book.getTitle()).addValue("authorId", book.getAuthor().getId())
-                .addValue("id", book.getId());
-
-        int rowsAffected = namedParameterJdbcOperations
-                .update("update books set title = :title, author_id = :authorId WHERE id = :id", parameters);
-
-        if (rowsAffected == 0) {
-            throw new EntityNotFoundException("No book found with id " + book.getId());
+        var storedBook = findStoredBook(book.getId());
+
+        if (storedBook.title().equals(book.getTitle()) && storedBook.authorId() == book.getAuthor().getId()) {
+            bookWriteStatistics.recordSkippedUpdate();
+        } else {
+            SqlParameterSource parameters = new MapSqlParameterSource().addValue
+                    ("title", book.getTitle()).addValue("authorId", book.getAuthor().getId())
+                    .addValue("id", book.getId());
+            namedParameterJdbcOperations
+                    .update("update books set title = :title, author_id = :authorId WHERE id = :id", parameters);
         }
 
-        removeGenresRelationsFor(book);
-        batchInsertGenresRelationsFor(book);
+        Set<Long> requestedGenreIds = book.getGenres().stream()
+                .map(Genre::getId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Set<Long> removedGenreIds = new HashSet<>(storedBook.genreIds());
+        removedGenreIds.removeAll(requestedGenreIds);
+        Set<Long> addedGenreIds = new LinkedHashSet<>(requestedGenreIds);
+        addedGenreIds.removeAll(storedBook.genreIds());
+
+        removeGenresRelationsFor(book.getId(), removedGenreIds);
+        batchInsertGenresRelationsFor(book.getId(), addedGenreIds);
 
+        // delete-all/insert-all used to touch every stored and every requested link
+        bookWriteStatistics.recordAvoidedGenreLinkRows(storedBook.genreIds().size() + requestedGenreIds.size()
+                - removedGenreIds.size() - addedGenreIds.size());
         return book;
     }
 
-    private void batchInsertGenresRelationsFor(Book book) {
-        List<MapSqlParameterSource> batchArgs = book.getGenres().stream().map(genre ->
+    private StoredBook findStoredBook(long id) {
+        Map<String, Object> params = Collections.singletonMap("id", id);
+        return namedParameterJdbcOperations.query("select b.title, b.author_id, bg.genre_id from books b " +
+                "left join books_genres bg on b.id = bg.book_id where b.id = :id", params, rs -> {
+                    StoredBook storedBook = null;
+                    while (rs.next()) {
+                        if (storedBook == null) {
+                            storedBook = new StoredBook(rs.getString("title"), rs.getLong("author_id"),
+                                    new HashSet<>());
+                        }
+                        long genreId = rs.getLong("genre_id");
+                        if (!rs.wasNull()) {
+                            storedBook.genreIds().add(genreId);
+                        }
+                    }
+                    if (storedBook == null) {
+                        throw new EntityNotFoundException("No book found with id " + id);
+                    }
+                    return storedBook;
+                });
+    }
+
+    private void batchInsertGenresRelationsFor(List<Book> books) {
+        List<MapSqlParameterSource> batchArgs = books.stream().flatMap(book -> book.getGenres().stream().map(genre ->
                 new MapSqlParameterSource().addValue("bookId", book.getId()).addValue
-                        ("genreId", genre.getId())).toList();
+                        ("genreId", genre.getId()))).toList();
 
         namedParameterJdbcOperations
                 .batchUpdate("insert into books_genres (book_id, genre_id) values (:bookId, :genreId)",
                         batchArgs.toArray(new SqlParameterSource[0]));
     }
 
-    private void removeGenresRelationsFor(Book book) {
-        Map<String, Object> params = Collections.singletonMap("id", book.getId());
-        namedParameterJdbcOperations.update("delete from books_genres where book_id = :id", params);
+    private void removeGenresRelationsFor(long bookId, Set<Long> genreIds) {
+        if (genreIds.isEmpty()) {
+            return;
+        }
+        SqlParameterSource parameters = new MapSqlParameterSource().addValue("bookId", bookId)
+                .addValue("genreIds", genreIds);
+        namedParameterJdbcOperations.update(
+                "delete from books_genres where book_id = :bookId and genre_id in (:genreIds)", parameters);
     }
 
-    @RequiredArgsConstructor
-    private static class BookRowMapper implements RowMapper<Book> {
+    private void batchInsertGenresRelationsFor(long bookId, Set<Long> genreIds) {
+        SqlParameterSource[] batchArgs = genreIds.stream().map(genreId ->
+                new MapSqlParameterSource().addValue("bookId", bookId).addValue("genreId", genreId))
+                .toArray(SqlParameterSource[]::new);
 
-        private final AuthorRepository authorRepository;
+        namedParameterJdbcOperations
+                .batchUpdate("insert into books_genres (book_id, genre_id) values (:bookId, :genreId)", batchArgs);
+    }
 
-        @Override
-        public Book mapRow(ResultSet rs, int rowNum) throws SQLException {
-            long id = rs.getLong("id");
-            String title = rs.getString("title");
-            Optional<Author> author = authorRepository.findById(rs.getLong("author_id"));
-            return new Book(id, title, author.get(), null);
-        }
+    private record StoredBook(String title, long authorId, Set<Long> genreIds) {
     }
 
-    private static class BookGenreRelationRowMapper implements RowMapper<BookGenreRelation> {
+    // Rows come ordered by book id, so a book is complete as soon as the next id shows up.
+    // Books of the same author or genre share one instance while it is among the recently seen ones.
+    // The sharing map is bounded because forEachBook streams any number of books and must not keep every author.
+    private static class BooksRowCallbackHandler implements RowCallbackHandler {
+
+        private static final int MAX_SHARED_REFERENCES = 1024;
+
+        private final Consumer<Book> action;
+
+        private final Map<Long, Author> authors = recentlyUsed();
+
+        private final Map<Long, Genre> genres = recentlyUsed();
+
+        private Book book;
+
+        BooksRowCallbackHandler(Consumer<Book> action) {
+            this.action = action;
+        }
 
         @Override
-        public BookGenreRelation mapRow(ResultSet rs, int rowNum) throws SQLException {
+        public void processRow(ResultSet rs) throws SQLException {
             long bookId = rs.getLong("book_id");
+            if (book == null || book.getId() != bookId) {
+                complete();
+                book = new Book(bookId, rs.getString("title"), mapAuthor(rs), new ArrayList<>());
+            }
             long genreId = rs.getLong("genre_id");
-            return new BookGenreRelation(bookId, genreId);
+            if (!rs.wasNull()) {
+                book.getGenres().add(mapGenre(rs, genreId));
+            }
         }
-    }
 
-    // Использовать для findById
-    @SuppressWarnings("ClassCanBeRecord")
-    @RequiredArgsConstructor
-    private static class BookResultSetExtractor implements ResultSetExtractor<Book> {
+        void complete() {
+            if (book != null) {
+                action.accept(book);
+                book = null;
+            }
+        }
 
-        @Override
-        public Book extractData(ResultSet rs) throws SQLException, DataAccessException {
-            Book book = null;
-            while (rs.next()) {
-                if (rs.isFirst()) {
-                    book = new Book();
-                    book.setId(rs.getLong("book_id"));
-                    book.setTitle(rs.getString("title"));
-                    Author author = new Author();
-                    author.setId(rs.getLong("author_id"));
-                    author.setFullName(rs.getString("full_name"));
-                    book.setAuthor(author);
-                    book.setGenres(new ArrayList<>());
+        private static <T> Map<Long, T> recentlyUsed() {
+            return new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, T> eldest) {
+                    return size() > MAX_SHARED_REFERENCES;
                 }
-                long genreId = rs.getLong("genre_id");
-                Genre genre = new Genre();
-                genre.setId(genreId);
-                genre.setName(rs.getString("genre_name"));
-                List<Genre> genres = book.getGenres();
-                genres.add(genre);
-                book.setGenres(genres);
+            };
+        }
+
+        private Author mapAuthor(ResultSet rs) throws SQLException {
+            long authorId = rs.getLong("author_id");
+            Author author = authors.get(authorId);
+            if (author == null) {
+                author = new Author(authorId, rs.getString("full_name"));
+                authors.put(authorId, author);
             }
-            return book;
+            return author;
         }
-    }
 
-    private record BookGenreRelation(long bookId, long genreId) {
+        private Genre mapGenre(ResultSet rs, long genreId) throws SQLException {
+            Genre genre = genres.get(genreId);
+            if (genre == null) {
+                genre = new Genre(genreId, rs.getString("genre_name"));
+                genres.put(genreId, genre);
+            }
+            return genre;
+        }
     }
-}
\ No newline at end of file
+}
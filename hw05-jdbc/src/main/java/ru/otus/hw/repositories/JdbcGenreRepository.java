@@ -25,6 +25,14 @@ public class JdbcGenreRepository implements GenreRepository {
                 .query("select id, name from genres", new JdbcGenreRepository.GenreRowMapper());
     }
 
+    @Override
+    public List<Genre> findPageAfter(long lastId, int limit) {
+        Map<String, Object> params = Map.of("lastId", lastId, "limit", limit);
+        return namedParameterJdbcOperations.query(
+                "select id, name from genres where id > :lastId order by id limit :limit",
+                params, new JdbcGenreRepository.GenreRowMapper());
+    }
+
     @Override
     public List<Genre> findAllByIds(Set<Long> ids) {
         Map<String, Object> params = Collections.singletonMap("ids", ids);
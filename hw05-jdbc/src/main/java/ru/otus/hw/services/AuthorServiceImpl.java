@@ -16,4 +16,12 @@ public class AuthorServiceImpl implements AuthorService {
     public List<Author> findAll() {
         return authorRepository.findAll();
     }
+
+    @Override
+    public List<Author> findPageAfter(long lastId, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page limit must be positive");
+        }
+        return authorRepository.findPageAfter(lastId, limit);
+    }
 }
@@ -0,0 +1,137 @@
+package ru.otus.hw.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.otus.hw.exceptions.BookImportException;
+import ru.otus.hw.models.Author;
+import ru.otus.hw.models.Book;
+import ru.otus.hw.models.Genre;
+import ru.otus.hw.repositories.AuthorRepository;
+import ru.otus.hw.repositories.BookRepository;
+import ru.otus.hw.repositories.GenreRepository;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Expected line format: title;authorId;genreId|genreId, the first line is a header
+@RequiredArgsConstructor
+@Service
+public class BookImportServiceImpl implements BookImportService {
+    private static final String FIELDS_SEPARATOR = ";";
+
+    private static final String GENRES_SEPARATOR = "\\|";
+
+    private final AuthorRepository authorRepository;
+
+    private final GenreRepository genreRepository;
+
+    private final BookRepository bookRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public ImportResult importBooks(String fileName, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        long start = System.nanoTime();
+        Map<Long, Genre> genres = genreRepository.findAll().stream()
+                .collect(Collectors.toMap(Genre::getId, Function.identity()));
+
+        long booksCount = 0;
+        long genreLinksCount = 0;
+        try (BufferedReader reader = Files.newBufferedReader(Path.of(fileName))) {
+            List<BookLine> batch = new ArrayList<>(batchSize);
+            reader.readLine();
+            int lineNumber = 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                BookLine bookLine = parseBookLine(line, lineNumber, genres);
+                batch.add(bookLine);
+                genreLinksCount += bookLine.genres().size();
+                if (batch.size() == batchSize) {
+                    booksCount += insertBatch(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            booksCount += insertBatch(batch);
+        } catch (IOException e) {
+            throw new BookImportException("Failed to read books from " + fileName, e);
+        }
+        return new ImportResult(booksCount, genreLinksCount, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private int insertBatch(List<BookLine> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<Book> books = resolveAuthors(batch);
+        transactionTemplate.executeWithoutResult(status -> bookRepository.insertAll(books));
+        return books.size();
+    }
+
+    // One IN query per batch instead of an author lookup per line, books of the same author share the instance
+    private List<Book> resolveAuthors(List<BookLine> batch) {
+        Set<Long> authorIds = batch.stream().map(BookLine::authorId).collect(Collectors.toSet());
+        Map<Long, Author> authors = authorRepository.findAllByIds(authorIds).stream()
+                .collect(Collectors.toMap(Author::getId, Function.identity()));
+
+        List<Book> books = new ArrayList<>(batch.size());
+        for (BookLine bookLine : batch) {
+            Author author = authors.get(bookLine.authorId());
+            if (author == null) {
+                throw new BookImportException(
+                        "Line %d: author with id %d not found".formatted(bookLine.lineNumber(), bookLine.authorId()));
+            }
+            books.add(new Book(0, bookLine.title(), author, bookLine.genres()));
+        }
+        return books;
+    }
+
+    private BookLine parseBookLine(String line, int lineNumber, Map<Long, Genre> genres) {
+        String[] fields = line.split(FIELDS_SEPARATOR, -1);
+        if (fields.length != 3) {
+            throw new BookImportException("Line %d: expected 3 fields but was %d".formatted(lineNumber, fields.length));
+        }
+        if (fields[2].isBlank()) {
+            throw new BookImportException("Line %d: no genre ids".formatted(lineNumber));
+        }
+        try {
+            long authorId = Long.parseLong(fields[1].trim());
+            Map<Long, Genre> bookGenres = new LinkedHashMap<>();
+            for (String genreIdValue : fields[2].split(GENRES_SEPARATOR)) {
+                long genreId = Long.parseLong(genreIdValue.trim());
+                Genre genre = genres.get(genreId);
+                if (genre == null) {
+                    throw new BookImportException("Line %d: genre with id %d not found".formatted(lineNumber, genreId));
+                }
+                // a repeated id would break the books_genres primary key and roll back the whole batch
+                if (bookGenres.putIfAbsent(genreId, genre) != null) {
+                    throw new BookImportException(
+                            "Line %d: genre with id %d is repeated".formatted(lineNumber, genreId));
+                }
+            }
+            return new BookLine(lineNumber, fields[0].trim(), authorId, List.copyOf(bookGenres.values()));
+        } catch (NumberFormatException e) {
+            throw new BookImportException("Line %d: malformed id".formatted(lineNumber), e);
+        }
+    }
+
+    private record BookLine(int lineNumber, String title, long authorId, List<Genre> genres) {
+    }
+}
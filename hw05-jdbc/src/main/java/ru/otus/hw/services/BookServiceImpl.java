@@ -2,15 +2,18 @@ package ru.otus.hw.services;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.otus.hw.exceptions.EntityNotFoundException;
 import ru.otus.hw.models.Book;
 import ru.otus.hw.repositories.AuthorRepository;
 import ru.otus.hw.repositories.BookRepository;
+import ru.otus.hw.repositories.BookWriteStatistics;
 import ru.otus.hw.repositories.GenreRepository;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.springframework.util.CollectionUtils.isEmpty;
 
@@ -23,6 +26,8 @@ public class BookServiceImpl implements BookService {
 
     private final BookRepository bookRepository;
 
+    private final BookWriteStatistics bookWriteStatistics;
+
     @Override
     public Optional<Book> findById(long id) {
         return bookRepository.findById(id);
@@ -34,11 +39,27 @@ public class BookServiceImpl implements BookService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public void forEachBook(Consumer<Book> action) {
+        bookRepository.forEachBook(action);
+    }
+
+    @Override
+    public List<Book> findPageAfter(long lastId, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page limit must be positive");
+        }
+        return bookRepository.findPageAfter(lastId, limit);
+    }
+
+    @Override
+    @Transactional
     public Book insert(String title, long authorId, Set<Long> genresIds) {
         return save(0, title, authorId, genresIds);
     }
 
     @Override
+    @Transactional
     public Book update(long id, String title, long authorId, Set<Long> genresIds) {
         return save(id, title, authorId, genresIds);
     }
@@ -48,6 +69,12 @@ public class BookServiceImpl implements BookService {
         bookRepository.deleteById(id);
     }
 
+    @Override
+    public WriteStatistics getWriteStatistics() {
+        return new WriteStatistics(bookWriteStatistics.getSkippedUpdates(),
+                bookWriteStatistics.getAvoidedGenreLinkRows());
+    }
+
     private Book save(long id, String title, long authorId, Set<Long> genresIds) {
         if (isEmpty(genresIds)) {
             throw new IllegalArgumentException("Genres ids must not be null");
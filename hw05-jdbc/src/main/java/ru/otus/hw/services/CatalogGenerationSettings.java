@@ -0,0 +1,18 @@
+package ru.otus.hw.services;
+
+public record CatalogGenerationSettings(int authors, int genres, int books, int minGenresPerBook,
+                                        int maxGenresPerBook, GenreDistribution genreDistribution,
+                                        long seed, int batchSize) {
+
+    public CatalogGenerationSettings {
+        if (authors < 0 || genres < 0 || books < 0) {
+            throw new IllegalArgumentException("Rows count must not be negative");
+        }
+        if (minGenresPerBook < 1 || maxGenresPerBook < minGenresPerBook) {
+            throw new IllegalArgumentException("Genres per book range must be 1 <= min <= max");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package ru.otus.hw.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+// Random values are drawn book by book, so the same seed gives the same catalog for any batch size
+@RequiredArgsConstructor
+@Service
+public class CatalogGeneratorServiceImpl implements CatalogGeneratorService {
+    private final NamedParameterJdbcOperations namedParameterJdbcOperations;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ReferenceCacheService referenceCacheService;
+
+    @Override
+    public GenerationResult generate(CatalogGenerationSettings settings) {
+        long start = System.nanoTime();
+        var random = new SplittableRandom(settings.seed());
+
+        long[] authorIds = settings.authors() > 0
+                ? insertNamedRows("authors", "full_name", "Author_", settings.authors(), settings.batchSize())
+                : selectIds("authors");
+        long[] genreIds = settings.genres() > 0
+                ? insertNamedRows("genres", "name", "Genre_", settings.genres(), settings.batchSize())
+                : selectIds("genres");
+        if (settings.books() > 0 && (authorIds.length == 0 || genreIds.length < settings.maxGenresPerBook())) {
+            throw new IllegalArgumentException("Not enough authors or genres for %d genres per book"
+                    .formatted(settings.maxGenresPerBook()));
+        }
+
+        var genreSampler = new GenreSampler(genreIds, settings.genreDistribution());
+        long genreLinks = 0;
+        for (int offset = 0; offset < settings.books(); offset += settings.batchSize()) {
+            int batchSize = Math.min(settings.batchSize(), settings.books() - offset);
+            int firstNumber = offset + 1;
+            genreLinks += transactionTemplate.execute(status ->
+                    insertBooks(firstNumber, batchSize, authorIds, genreSampler, random, settings));
+        }
+        // authors and genres were written past the caching repositories
+        referenceCacheService.invalidateAll();
+        return new GenerationResult(settings.authors(), settings.genres(), settings.books(), genreLinks,
+                Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private int insertBooks(int firstNumber, int count, long[] authorIds, GenreSampler genreSampler,
+                               SplittableRandom random, CatalogGenerationSettings settings) {
+        SqlParameterSource[] books = new SqlParameterSource[count];
+        List<Set<Long>> booksGenreIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            books[i] = new MapSqlParameterSource().addValue("title", "BookTitle_" + (firstNumber + i))
+                    .addValue("authorId", authorIds[random.nextInt(authorIds.length)]);
+            int genresCount = random.nextInt(settings.minGenresPerBook(), settings.maxGenresPerBook() + 1);
+            booksGenreIds.add(genreSampler.sample(random, genresCount));
+        }
+        long[] bookIds = insertWithKeys("insert into books (title, author_id) values (:title, :authorId)", books);
+
+        List<SqlParameterSource> links = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            for (long genreId : booksGenreIds.get(i)) {
+                links.add(new MapSqlParameterSource().addValue("bookId", bookIds[i]).addValue("genreId", genreId));
+            }
+        }
+        namedParameterJdbcOperations.batchUpdate(
+                "insert into books_genres (book_id, genre_id) values (:bookId, :genreId)",
+                links.toArray(new SqlParameterSource[0]));
+        return links.size();
+    }
+
+    private long[] insertNamedRows(String table, String column, String prefix, int count, int batchSize) {
+        long[] ids = new long[count];
+        for (int offset = 0; offset < count; offset += batchSize) {
+            SqlParameterSource[] rows = new SqlParameterSource[Math.min(batchSize, count - offset)];
+            for (int i = 0; i < rows.length; i++) {
+                rows[i] = new MapSqlParameterSource("value", prefix + (offset + i + 1));
+            }
+            long[] batchIds = transactionTemplate.execute(status -> insertWithKeys(
+                    "insert into %s (%s) values (:value)".formatted(table, column), rows));
+            System.arraycopy(batchIds, 0, ids, offset, batchIds.length);
+        }
+        return ids;
+    }
+
+    private long[] insertWithKeys(String sql, SqlParameterSource[] rows) {
+        var keyHolder = new GeneratedKeyHolder();
+        namedParameterJdbcOperations.batchUpdate(sql, rows, keyHolder, new String[]{"id"});
+        return keyHolder.getKeyList().stream()
+                .mapToLong(keys -> ((Number) keys.values().iterator().next()).longValue())
+                .toArray();
+    }
+
+    private long[] selectIds(String table) {
+        return namedParameterJdbcOperations.queryForList("select id from %s order by id".formatted(table),
+                        Map.of(), Long.class).stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    private static class GenreSampler {
+
+        private final long[] genreIds;
+
+        // cumulative weights of 1/rank for ZIPF, null for UNIFORM
+        private final double[] cumulativeWeights;
+
+        GenreSampler(long[] genreIds, GenreDistribution distribution) {
+            this.genreIds = genreIds;
+            if (distribution == GenreDistribution.ZIPF) {
+                cumulativeWeights = new double[genreIds.length];
+                double sum = 0;
+                for (int rank = 1; rank <= genreIds.length; rank++) {
+                    sum += 1.0 / rank;
+                    cumulativeWeights[rank - 1] = sum;
+                }
+            } else {
+                cumulativeWeights = null;
+            }
+        }
+
+        Set<Long> sample(SplittableRandom random, int count) {
+            Set<Long> sample = new LinkedHashSet<>();
+            while (sample.size() < count) {
+                sample.add(genreIds[nextIndex(random)]);
+            }
+            return sample;
+        }
+
+        private int nextIndex(SplittableRandom random) {
+            if (cumulativeWeights == null) {
+                return random.nextInt(genreIds.length);
+            }
+            double point = random.nextDouble(cumulativeWeights[cumulativeWeights.length - 1]);
+            int index = Arrays.binarySearch(cumulativeWeights, point);
+            return index >= 0 ? index + 1 : -index - 1;
+        }
+    }
+}
@@ -16,4 +16,12 @@ public class GenreServiceImpl implements GenreService {
     public List<Genre> findAll() {
         return genreRepository.findAll();
     }
+
+    @Override
+    public List<Genre> findPageAfter(long lastId, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page limit must be positive");
+        }
+        return genreRepository.findPageAfter(lastId, limit);
+    }
 }
@@ -0,0 +1,11 @@
+package ru.otus.hw.services;
+
+import java.time.Duration;
+
+public record ImportResult(long books, long genreLinks, Duration elapsed) {
+
+    public double rowsPerSecond() {
+        long millis = Math.max(elapsed.toMillis(), 1);
+        return (books + genreLinks) * 1000.0 / millis;
+    }
+}
@@ -0,0 +1,46 @@
+package ru.otus.hw.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+import org.springframework.stereotype.Service;
+import ru.otus.hw.config.QueryRecorder;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+@Service
+public class QueryPlanAuditServiceImpl implements QueryPlanAuditService {
+
+    private final ObjectProvider<QueryRecorder> queryRecorder;
+
+    private final NamedParameterJdbcOperations namedParameterJdbcOperations;
+
+    @Override
+    public boolean isEnabled() {
+        return queryRecorder.getIfAvailable() != null;
+    }
+
+    // Nothing is recorded unless query-audit.enabled is set
+    @Override
+    public List<QueryPlan> audit() {
+        var recorder = queryRecorder.getIfAvailable();
+        if (recorder == null) {
+            return List.of();
+        }
+        return recorder.statements().stream().map(this::explain).toList();
+    }
+
+    // H2 plans statements with unbound parameters, so the recorded sql is explained as is
+    private QueryPlan explain(String sql) {
+        try {
+            String plan = namedParameterJdbcOperations.getJdbcOperations().query(
+                    connection -> connection.prepareStatement("explain " + sql),
+                    rs -> rs.next() ? rs.getString(1) : "");
+            return new QueryPlan(sql, plan);
+        } catch (DataAccessException e) {
+            return new QueryPlan(sql, "plan unavailable: " + e.getMostSpecificCause().getMessage());
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package ru.otus.hw.services;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.util.Map;
+
+public interface ReferenceCacheService {
+    Map<String, CacheStats> stats();
+
+    Map<String, Long> sizes();
+
+    void invalidateAll();
+}
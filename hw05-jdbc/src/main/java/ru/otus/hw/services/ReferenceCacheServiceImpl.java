@@ -0,0 +1,40 @@
+package ru.otus.hw.services;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import ru.otus.hw.repositories.CachingAuthorRepository;
+import ru.otus.hw.repositories.CachingGenreRepository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RequiredArgsConstructor
+@Service
+public class ReferenceCacheServiceImpl implements ReferenceCacheService {
+    private final CachingAuthorRepository authorRepository;
+
+    private final CachingGenreRepository genreRepository;
+
+    @Override
+    public Map<String, CacheStats> stats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        stats.put("authors", authorRepository.stats());
+        stats.put("genres", genreRepository.stats());
+        return stats;
+    }
+
+    @Override
+    public Map<String, Long> sizes() {
+        Map<String, Long> sizes = new LinkedHashMap<>();
+        sizes.put("authors", authorRepository.size());
+        sizes.put("genres", genreRepository.size());
+        return sizes;
+    }
+
+    @Override
+    public void invalidateAll() {
+        authorRepository.invalidateAll();
+        genreRepository.invalidateAll();
+    }
+}
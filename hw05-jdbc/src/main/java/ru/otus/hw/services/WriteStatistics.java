@@ -0,0 +1,8 @@
+package ru.otus.hw.services;
+
+public record WriteStatistics(long skippedUpdates, long avoidedGenreLinkRows) {
+
+    public long avoidedRows() {
+        return skippedUpdates + avoidedGenreLinkRows;
+    }
+}
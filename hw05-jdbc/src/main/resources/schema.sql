@@ -21,4 +21,10 @@ create table books_genres (
     book_id bigint references books(id) on delete cascade,
     genre_id bigint references genres(id) on delete cascade,
     primary key (book_id, genre_id)
-);
\ No newline at end of file
+);
+
+-- books of an author are found and cascaded by author_id
+create index books_author_id_idx on books (author_id);
+
+-- books of a genre are found and cascaded by genre_id, the primary key only covers lookups by book_id
+create index books_genres_genre_id_book_id_idx on books_genres (genre_id, book_id);
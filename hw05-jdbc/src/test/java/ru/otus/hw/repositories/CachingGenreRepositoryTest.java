@@ -0,0 +1,58 @@
+package ru.otus.hw.repositories;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import ru.otus.hw.models.Genre;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Кэширующий репозиторий жанров ")
+@JdbcTest
+@Import({CachingGenreRepository.class, JdbcGenreRepository.class})
+class CachingGenreRepositoryTest {
+
+    @Autowired
+    private CachingGenreRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository.invalidateAll();
+    }
+
+    @DisplayName("должен повторно отдавать жанры по id из кэша")
+    @Test
+    void shouldReturnGenresByIdsFromCache() {
+        var statsBefore = repository.stats();
+        var firstCall = repository.findAllByIds(Set.of(1L, 2L));
+        var secondCall = repository.findAllByIds(Set.of(1L, 2L));
+        var stats = repository.stats().minus(statsBefore);
+
+        assertThat(secondCall).containsExactlyInAnyOrderElementsOf(firstCall)
+                .containsExactlyInAnyOrder(new Genre(1, "Genre_1"), new Genre(2, "Genre_2"));
+        assertThat(stats.missCount()).isEqualTo(2);
+        assertThat(stats.hitCount()).isEqualTo(2);
+    }
+
+    @DisplayName("должен заполнять кэш по id при загрузке всех жанров")
+    @Test
+    void shouldFillCacheByIdsOnFindAll() {
+        repository.findAll();
+        var statsBefore = repository.stats();
+        repository.findAllByIds(Set.of(3L));
+
+        assertThat(repository.stats().minus(statsBefore).hitCount()).isEqualTo(1);
+        assertThat(repository.size()).isEqualTo(6);
+    }
+
+    @DisplayName("должен не находить отсутствующие жанры")
+    @Test
+    void shouldNotReturnMissingGenres() {
+        assertThat(repository.findAllByIds(Set.of(1L, 100L))).containsExactly(new Genre(1, "Genre_1"));
+    }
+}
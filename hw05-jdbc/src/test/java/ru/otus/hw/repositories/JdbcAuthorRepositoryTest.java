@@ -0,0 +1,38 @@
+package ru.otus.hw.repositories;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import ru.otus.hw.models.Author;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Репозиторий на основе Jdbc для работы с авторами ")
+@JdbcTest
+@Import(JdbcAuthorRepository.class)
+class JdbcAuthorRepositoryTest {
+
+    @Autowired
+    private JdbcAuthorRepository repository;
+
+    @DisplayName("должен загружать авторов по списку id")
+    @Test
+    void shouldReturnAuthorsByIds() {
+        assertThat(repository.findAllByIds(Set.of(1L, 3L, 100L)))
+                .containsExactlyInAnyOrder(new Author(1, "Author_1"), new Author(3, "Author_3"));
+    }
+
+    @DisplayName("должен загружать авторов по списку id длиннее одной порции запроса")
+    @Test
+    void shouldReturnAuthorsByIdsLongerThanOneChunk() {
+        Set<Long> ids = LongStream.rangeClosed(1, 2500).boxed().collect(Collectors.toSet());
+
+        assertThat(repository.findAllByIds(ids)).extracting(Author::getId).containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+}
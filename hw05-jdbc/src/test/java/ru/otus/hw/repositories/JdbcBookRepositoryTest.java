@@ -8,23 +8,30 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
 import org.springframework.context.annotation.Import;
+import ru.otus.hw.exceptions.EntityNotFoundException;
 import ru.otus.hw.models.Author;
 import ru.otus.hw.models.Book;
 import ru.otus.hw.models.Genre;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DisplayName("Репозиторий на основе Jdbc для работы с книгами ")
 @JdbcTest
-@Import({JdbcBookRepository.class, JdbcGenreRepository.class, JdbcAuthorRepository.class})
+@Import({JdbcBookRepository.class, JdbcGenreRepository.class, JdbcAuthorRepository.class,
+        BookWriteStatistics.class})
 class JdbcBookRepositoryTest {
 
     @Autowired
     private JdbcBookRepository repositoryJdbc;
 
+    @Autowired
+    private BookWriteStatistics bookWriteStatistics;
+
     private List<Author> dbAuthors;
 
     private List<Genre> dbGenres;
@@ -58,6 +65,23 @@ class JdbcBookRepositoryTest {
         actualBooks.forEach(System.out::println);
     }
 
+    @DisplayName("должен загружать страницу книг после заданного id")
+    @Test
+    void shouldReturnBooksPageAfterId() {
+        var actualBooks = repositoryJdbc.findPageAfter(1L, 1);
+
+        assertThat(actualBooks).containsExactly(dbBooks.get(1));
+    }
+
+    @DisplayName("должен по очереди передавать все книги обработчику")
+    @Test
+    void shouldPassEveryBookToConsumer() {
+        var actualBooks = new ArrayList<Book>();
+        repositoryJdbc.forEachBook(actualBooks::add);
+
+        assertThat(actualBooks).containsExactlyElementsOf(dbBooks);
+    }
+
     @DisplayName("должен сохранять новую книгу")
     @Test
     void shouldSaveNewBook() {
@@ -74,6 +98,23 @@ class JdbcBookRepositoryTest {
                 .isEqualTo(returnedBook);
     }
 
+    @DisplayName("должен пакетно сохранять новые книги")
+    @Test
+    void shouldInsertAllBooks() {
+        var newBooks = List.of(
+                new Book(0, "BookTitle_10501", dbAuthors.get(0), List.of(dbGenres.get(0), dbGenres.get(1))),
+                new Book(0, "BookTitle_10502", dbAuthors.get(1), List.of(dbGenres.get(2))));
+
+        var returnedBooks = repositoryJdbc.insertAll(newBooks);
+
+        assertThat(returnedBooks).allMatch(book -> book.getId() > 0)
+                .extracting(Book::getId).doesNotHaveDuplicates();
+        returnedBooks.forEach(book -> assertThat(repositoryJdbc.findById(book.getId()))
+                .isPresent()
+                .get()
+                .isEqualTo(book));
+    }
+
     @DisplayName("должен сохранять измененную книгу")
     @Test
     void shouldSaveUpdatedBook() {
@@ -96,6 +137,32 @@ class JdbcBookRepositoryTest {
                 .isEqualTo(returnedBook);
     }
 
+    @DisplayName("должен переписывать только изменившиеся связи с жанрами")
+    @Test
+    void shouldWriteOnlyChangedGenreLinks() {
+        var expectedBook = new Book(1L, "BookTitle_1", dbAuthors.get(0),
+                List.of(dbGenres.get(0), dbGenres.get(2)));
+        long skippedUpdatesBefore = bookWriteStatistics.getSkippedUpdates();
+        long avoidedLinksBefore = bookWriteStatistics.getAvoidedGenreLinkRows();
+
+        repositoryJdbc.save(expectedBook);
+
+        assertThat(repositoryJdbc.findById(1L)).isPresent()
+                .get()
+                .isEqualTo(expectedBook);
+        assertThat(bookWriteStatistics.getSkippedUpdates() - skippedUpdatesBefore).isEqualTo(1);
+        assertThat(bookWriteStatistics.getAvoidedGenreLinkRows() - avoidedLinksBefore).isEqualTo(2);
+    }
+
+    @DisplayName("должен бросать исключение при изменении несуществующей книги")
+    @Test
+    void shouldThrowOnUpdateOfMissingBook() {
+        var missingBook = new Book(100L, "BookTitle_100", dbAuthors.get(0), List.of(dbGenres.get(0)));
+
+        assertThatThrownBy(() -> repositoryJdbc.save(missingBook))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
     @DisplayName("должен удалять книгу по id ")
     @Test
     void shouldDeleteBook() {
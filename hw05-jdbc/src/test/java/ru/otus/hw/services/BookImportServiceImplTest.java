@@ -0,0 +1,105 @@
+package ru.otus.hw.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.otus.hw.exceptions.BookImportException;
+import ru.otus.hw.repositories.BookWriteStatistics;
+import ru.otus.hw.repositories.JdbcAuthorRepository;
+import ru.otus.hw.repositories.JdbcBookRepository;
+import ru.otus.hw.repositories.JdbcGenreRepository;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Импорт книг из файла ")
+@JdbcTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({BookImportServiceImpl.class, JdbcAuthorRepository.class, JdbcGenreRepository.class,
+        JdbcBookRepository.class, BookWriteStatistics.class})
+class BookImportServiceImplTest {
+
+    private static final String HEADER = "title;authorId;genreIds";
+
+    @Autowired
+    private BookImportServiceImpl bookImportService;
+
+    @Autowired
+    private NamedParameterJdbcOperations jdbc;
+
+    @TempDir
+    private Path directory;
+
+    @AfterEach
+    void tearDown() {
+        jdbc.update("delete from books where id > 3", Map.of());
+    }
+
+    @DisplayName("должен пропускать заголовок и вставлять книги пакетами, включая неполный последний")
+    @Test
+    void shouldSkipHeaderAndInsertBooksInBatches() throws IOException {
+        var file = write(HEADER, "Imported_1;1;1|2", "", "Imported_2;2;3", "Imported_3;3;4|5|6",
+                "Imported_4;1;1", "Imported_5;2;2");
+
+        var result = bookImportService.importBooks(file, 2);
+
+        assertThat(result.books()).isEqualTo(5);
+        assertThat(result.genreLinks()).isEqualTo(8);
+        assertThat(importedBooks()).containsExactly("Imported_1:Author_1:Genre_1", "Imported_1:Author_1:Genre_2",
+                "Imported_2:Author_2:Genre_3", "Imported_3:Author_3:Genre_4", "Imported_3:Author_3:Genre_5",
+                "Imported_3:Author_3:Genre_6", "Imported_4:Author_1:Genre_1", "Imported_5:Author_2:Genre_2");
+    }
+
+    @DisplayName("должен сохранять уже записанные пакеты, когда в следующем пакете найден неизвестный автор")
+    @Test
+    void shouldKeepCommittedBatchesWhenLaterBatchFails() throws IOException {
+        var file = write(HEADER, "Imported_1;1;1", "Imported_2;2;2", "Imported_3;3;3", "Imported_4;404;4");
+
+        assertThatThrownBy(() -> bookImportService.importBooks(file, 2))
+                .isInstanceOf(BookImportException.class)
+                .hasMessage("Line 5: author with id 404 not found");
+        assertThat(importedBooks()).containsExactly("Imported_1:Author_1:Genre_1", "Imported_2:Author_2:Genre_2");
+    }
+
+    @DisplayName("должен сообщать номер строки с ошибкой")
+    @Test
+    void shouldReportLineNumberOfInvalidLine() throws IOException {
+        assertImportFails("Line 3: genre with id 404 not found", HEADER, "Imported_1;1;1", "Imported_2;1;2|404");
+        assertImportFails("Line 2: no genre ids", HEADER, "Imported_1;1; ");
+        assertImportFails("Line 2: genre with id 2 is repeated", HEADER, "Imported_1;1;2|1|2");
+        assertImportFails("Line 2: malformed id", HEADER, "Imported_1;one;1");
+        assertImportFails("Line 3: expected 3 fields but was 2", HEADER, "", "Imported_1;1");
+        assertThat(importedBooks()).isEmpty();
+    }
+
+    private void assertImportFails(String message, String... lines) throws IOException {
+        var file = write(lines);
+        assertThatThrownBy(() -> bookImportService.importBooks(file, 10))
+                .isInstanceOf(BookImportException.class)
+                .hasMessage(message);
+    }
+
+    private String write(String... lines) throws IOException {
+        return Files.write(Files.createTempFile(directory, "books", ".csv"), List.of(lines)).toString();
+    }
+
+    private List<String> importedBooks() {
+        return jdbc.queryForList("select b.title || ':' || a.full_name || ':' || g.name from books b " +
+                        "join authors a on b.author_id = a.id join books_genres bg on b.id = bg.book_id " +
+                        "join genres g on bg.genre_id = g.id where b.id > 3 order by b.id, g.name",
+                Map.of(), String.class);
+    }
+}
@@ -0,0 +1,78 @@
+package ru.otus.hw.services;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("Генератор синтетического каталога ")
+@JdbcTest
+@Import(CatalogGeneratorServiceImpl.class)
+class CatalogGeneratorServiceImplTest {
+
+    @Autowired
+    private CatalogGeneratorServiceImpl catalogGeneratorService;
+
+    @Autowired
+    private NamedParameterJdbcOperations jdbc;
+
+    @MockBean
+    private ReferenceCacheService referenceCacheService;
+
+    @DisplayName("должен создавать заданное количество строк")
+    @Test
+    void shouldGenerateRequestedRowsCount() {
+        long booksBefore = count("books");
+        long genreLinksBefore = count("books_genres");
+
+        var result = catalogGeneratorService.generate(settings(10));
+
+        assertThat(result.books()).isEqualTo(50);
+        assertThat(result.genreLinks()).isBetween(50L, 150L);
+        assertThat(count("books") - booksBefore).isEqualTo(50);
+        assertThat(count("books_genres") - genreLinksBefore).isEqualTo(result.genreLinks());
+        verify(referenceCacheService).invalidateAll();
+    }
+
+    @DisplayName("должен создавать одинаковый каталог для одного seed независимо от размера пакета")
+    @Test
+    void shouldGenerateSameCatalogForSameSeed() {
+        long lastBookId = maxBookId();
+        catalogGeneratorService.generate(settings(7));
+        var firstCatalog = booksAfter(lastBookId);
+
+        lastBookId = maxBookId();
+        catalogGeneratorService.generate(settings(50));
+        var secondCatalog = booksAfter(lastBookId);
+
+        assertThat(secondCatalog).hasSizeGreaterThanOrEqualTo(50).isEqualTo(firstCatalog);
+    }
+
+    private static CatalogGenerationSettings settings(int batchSize) {
+        return new CatalogGenerationSettings(5, 10, 50, 1, 3, GenreDistribution.ZIPF, 42, batchSize);
+    }
+
+    private long count(String table) {
+        return jdbc.queryForObject("select count(*) from " + table, Map.of(), Long.class);
+    }
+
+    private long maxBookId() {
+        return jdbc.queryForObject("select max(id) from books", Map.of(), Long.class);
+    }
+
+    private List<String> booksAfter(long lastBookId) {
+        return jdbc.queryForList("select b.title || ':' || a.full_name || ':' || g.name from books b " +
+                        "join authors a on b.author_id = a.id join books_genres bg on b.id = bg.book_id " +
+                        "join genres g on bg.genre_id = g.id where b.id > :lastBookId order by b.id, g.name",
+                Map.of("lastBookId", lastBookId), String.class);
+    }
+}
@@ -0,0 +1,77 @@
+package ru.otus.hw.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import ru.otus.hw.config.QueryRecorder;
+import ru.otus.hw.config.QueryRecordingDataSourcePostProcessor;
+import ru.otus.hw.models.Author;
+import ru.otus.hw.models.Book;
+import ru.otus.hw.models.Genre;
+import ru.otus.hw.repositories.BookWriteStatistics;
+import ru.otus.hw.repositories.JdbcAuthorRepository;
+import ru.otus.hw.repositories.JdbcBookRepository;
+import ru.otus.hw.repositories.JdbcGenreRepository;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Аудит планов запросов ")
+@JdbcTest(properties = "query-audit.enabled=true")
+@Import({QueryPlanAuditServiceImpl.class, QueryRecorder.class, QueryRecordingDataSourcePostProcessor.class,
+        JdbcBookRepository.class, JdbcGenreRepository.class, JdbcAuthorRepository.class, BookWriteStatistics.class})
+class QueryPlanAuditServiceImplTest {
+
+    @Autowired
+    private QueryPlanAuditServiceImpl queryPlanAuditService;
+
+    @Autowired
+    private QueryRecorder queryRecorder;
+
+    @Autowired
+    private JdbcBookRepository bookRepository;
+
+    @Autowired
+    private JdbcAuthorRepository authorRepository;
+
+    @Autowired
+    private JdbcGenreRepository genreRepository;
+
+    @BeforeEach
+    void setUp() {
+        queryRecorder.clear();
+    }
+
+    @DisplayName("не должен находить полных просмотров таблиц в выборках по ключу, страницах, изменениях и удалениях")
+    @Test
+    void shouldNotFindTableScansInKeyedQueries() {
+        bookRepository.findById(1L);
+        bookRepository.findPageAfter(1L, 2);
+        authorRepository.findAllByIds(Set.of(1L, 2L));
+        genreRepository.findAllByIds(Set.of(1L, 2L));
+        genreRepository.findPageAfter(1L, 2);
+        bookRepository.save(new Book(1L, "BookTitle_10500", new Author(2L, "Author_2"),
+                List.of(new Genre(3L, "Genre_3"))));
+        bookRepository.deleteById(2L);
+
+        var plans = queryPlanAuditService.audit();
+
+        assertThat(plans).hasSizeGreaterThanOrEqualTo(7).noneMatch(QueryPlan::tableScan);
+    }
+
+    @DisplayName("должен помечать полный просмотр таблицы")
+    @Test
+    void shouldFlagTableScan() {
+        genreRepository.findAll();
+
+        assertThat(queryPlanAuditService.audit()).singleElement().satisfies(plan -> {
+            assertThat(plan.sql()).startsWith("select");
+            assertThat(plan.tableScan()).isTrue();
+        });
+    }
+}
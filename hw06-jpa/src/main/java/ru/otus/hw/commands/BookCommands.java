@@ -1,28 +1,42 @@
 package ru.otus.hw.commands;
 
 import lombok.RequiredArgsConstructor;
+import org.jline.terminal.Terminal;
 import org.springframework.shell.standard.ShellComponent;
 import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
 import ru.otus.hw.converters.BookConverter;
+import ru.otus.hw.models.Book;
 import ru.otus.hw.services.BookService;
 
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 @SuppressWarnings({"SpellCheckingInspection", "unused"})
 @RequiredArgsConstructor
 @ShellComponent
 public class BookCommands {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
     private final BookService bookService;
 
     private final BookConverter bookConverter;
 
+    private final Terminal terminal;
+
     @ShellMethod(value = "Find all books", key = "ab")
-    public String findAllBooks() {
-        return bookService.findAll().stream()
-                .map(bookConverter::bookToString)
-                .collect(Collectors.joining("," + System.lineSeparator()));
+    public void findAllBooks(@ShellOption(defaultValue = ShellOption.NULL) Long after,
+                             @ShellOption(defaultValue = ShellOption.NULL) Integer limit) {
+        var writer = terminal.writer();
+        Consumer<Book> printer = book -> writer.println(bookConverter.bookToString(book));
+        if (after == null && limit == null) {
+            bookService.forEachBook(printer);
+        } else {
+            bookService.findPageAfter(after == null ? 0 : after, limit == null ? DEFAULT_PAGE_SIZE : limit)
+                    .forEach(printer);
+        }
+        writer.flush();
     }
 
     @ShellMethod(value = "Find book by id", key = "bbid")
@@ -51,4 +65,10 @@ public class BookCommands {
     public void deleteBook(long id) {
         bookService.deleteById(id);
     }
+
+    // bdela 4,5,6
+    @ShellMethod(value = "Delete books by ids", key = "bdela")
+    public String deleteBooks(Set<Long> ids) {
+        return "Deleted books: %d".formatted(bookService.deleteAllByIds(ids));
+    }
 }
@@ -3,25 +3,39 @@ package ru.otus.hw.commands;
 import lombok.RequiredArgsConstructor;
 import org.springframework.shell.standard.ShellComponent;
 import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
 import ru.otus.hw.converters.CommentConverter;
 import ru.otus.hw.services.CommentService;
 
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @ShellComponent
 public class CommentCommands {
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
     private final CommentService commentService;
 
     private final CommentConverter commentConverter;
 
     @ShellMethod(value = "Find all commets by book id", key = "acbbi")
-    public String findAllCommentsByBookId(long bookId) {
-        return commentService.findAllByBookId(bookId).stream()
+    public String findAllCommentsByBookId(long bookId,
+                                          @ShellOption(defaultValue = ShellOption.NULL) Long after,
+                                          @ShellOption(defaultValue = ShellOption.NULL) Integer limit) {
+        var comments = after == null && limit == null ? commentService.findAllByBookId(bookId)
+                : commentService.findPageByBookId(bookId, after == null ? 0 : after,
+                limit == null ? DEFAULT_PAGE_SIZE : limit);
+        return comments.stream()
                 .map(commentConverter::commentToString)
                 .collect(Collectors.joining("," + System.lineSeparator()));
     }
 
+    @ShellMethod(value = "Count comments by book id", key = "ccbbi")
+    public String countCommentsByBookId(long bookId) {
+        return "Comments: %d".formatted(commentService.countByBookId(bookId));
+    }
+
     @ShellMethod(value = "Find comment by id", key = "cbid")
     public String findCommentById(long id) {
         return commentService.findById(id)
@@ -45,4 +59,10 @@ public class CommentCommands {
     public void deleteComment(long id) {
         commentService.deleteById(id);
     }
+
+    // cdelab 1,2
+    @ShellMethod(value = "Delete all comments of books", key = "cdelab")
+    public String deleteCommentsByBookIds(Set<Long> bookIds) {
+        return "Deleted comments: %d".formatted(commentService.deleteAllByBookIds(bookIds));
+    }
 }
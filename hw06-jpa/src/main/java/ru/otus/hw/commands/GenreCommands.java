@@ -3,6 +3,7 @@ package ru.otus.hw.commands;
 import lombok.RequiredArgsConstructor;
 import org.springframework.shell.standard.ShellComponent;
 import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
 import ru.otus.hw.converters.GenreConverter;
 import ru.otus.hw.services.GenreService;
 
@@ -12,13 +13,18 @@ import java.util.stream.Collectors;
 @ShellComponent
 public class GenreCommands {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
     private final GenreService genreService;
 
     private final GenreConverter genreConverter;
 
     @ShellMethod(value = "Find all genres", key = "ag")
-    public String findAllGenres() {
-        return genreService.findAll().stream()
+    public String findAllGenres(@ShellOption(defaultValue = ShellOption.NULL) Long after,
+                                @ShellOption(defaultValue = ShellOption.NULL) Integer limit) {
+        var genres = after == null && limit == null ? genreService.findAll()
+                : genreService.findPageAfter(after == null ? 0 : after, limit == null ? DEFAULT_PAGE_SIZE : limit);
+        return genres.stream()
                 .map(genreConverter::genreToString)
                 .collect(Collectors.joining("," + System.lineSeparator()));
     }
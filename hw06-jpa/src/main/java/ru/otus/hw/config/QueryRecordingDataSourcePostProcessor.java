@@ -0,0 +1,66 @@
+package ru.otus.hw.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+// Wraps the data source so that every prepared statement is passed to the QueryRecorder.
+// Every statement goes through a proxy, so this is only on with query-audit.enabled=true
+@RequiredArgsConstructor
+@ConditionalOnProperty("query-audit.enabled")
+@Component
+public class QueryRecordingDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<QueryRecorder> queryRecorder;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof RecordingDataSource)) {
+            return new RecordingDataSource(dataSource, queryRecorder);
+        }
+        return bean;
+    }
+
+    private static class RecordingDataSource extends DelegatingDataSource {
+
+        private final ObjectProvider<QueryRecorder> queryRecorder;
+
+        RecordingDataSource(DataSource dataSource, ObjectProvider<QueryRecorder> queryRecorder) {
+            super(dataSource);
+            this.queryRecorder = queryRecorder;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return recording(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return recording(super.getConnection(username, password));
+        }
+
+        private Connection recording(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                        if (method.getName().equals("prepareStatement") && args[0] instanceof String sql) {
+                            queryRecorder.getObject().record(sql);
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
@@ -6,6 +6,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
@@ -27,7 +28,7 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "books")
+@Table(name = "books", indexes = @Index(name = "books_author_id_idx", columnList = "author_id"))
 @NamedEntityGraph(name = "book-author-genres-entity-graph",
         attributeNodes =
                 {
@@ -51,6 +52,7 @@ public class Book {
     @Fetch(FetchMode.SUBSELECT)
     @ManyToMany()
     @JoinTable(name = "books_genres", joinColumns = @JoinColumn(name = "book_id"),
-    inverseJoinColumns = @JoinColumn(name = "genre_id"))
+    inverseJoinColumns = @JoinColumn(name = "genre_id"),
+    indexes = @Index(name = "books_genres_genre_id_book_id_idx", columnList = "genre_id, book_id"))
     private List<Genre> genres;
 }
@@ -8,5 +8,7 @@ import java.util.Optional;
 public interface AuthorRepository {
     List<Author> findAll();
 
+    List<Author> findPageAfter(long lastId, int limit);
+
     Optional<Author> findById(long id);
 }
@@ -2,15 +2,23 @@ package ru.otus.hw.repositories;
 
 import ru.otus.hw.models.Book;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface BookRepository {
     Optional<Book> findById(long id);
 
     List<Book> findAll();
 
+    List<Book> findPageAfter(long lastId, int limit);
+
+    void forEachBook(Consumer<Book> action);
+
     Book save(Book book);
 
     void deleteById(long id);
+
+    int deleteAllByIds(Collection<Long> ids);
 }
@@ -2,6 +2,7 @@ package ru.otus.hw.repositories;
 
 import ru.otus.hw.models.Comment;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,7 +11,13 @@ public interface CommentRepository {
 
     List<Comment> findAllByBookId(long bookId);
 
+    List<Comment> findPageByBookId(long bookId, long lastId, int limit);
+
+    long countByBookId(long bookId);
+
     Comment save(Comment comment);
 
     void deleteById(long id);
+
+    int deleteAllByBookIds(Collection<Long> bookIds);
 }
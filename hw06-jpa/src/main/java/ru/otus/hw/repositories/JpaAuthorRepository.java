@@ -3,6 +3,7 @@ package ru.otus.hw.repositories;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
 import ru.otus.hw.models.Author;
 
@@ -18,7 +19,17 @@ public class JpaAuthorRepository implements AuthorRepository {
 
     @Override
     public List<Author> findAll() {
-        return em.createQuery("select a from Author a", Author.class).getResultList();
+        return em.createQuery("select a from Author a", Author.class)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .getResultList();
+    }
+
+    @Override
+    public List<Author> findPageAfter(long lastId, int limit) {
+        return em.createQuery("select a from Author a where a.id > :lastId order by a.id", Author.class)
+                .setParameter("lastId", lastId)
+                .setMaxResults(limit)
+                .getResultList();
     }
 
     @Override
@@ -5,12 +5,18 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.TypedQuery;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
 import ru.otus.hw.models.Book;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static org.springframework.data.jpa.repository.EntityGraph.EntityGraphType.FETCH;
 
@@ -18,6 +24,12 @@ import static org.springframework.data.jpa.repository.EntityGraph.EntityGraphTyp
 @RequiredArgsConstructor
 public class JpaBookRepository implements BookRepository {
 
+    private static final int FETCH_SIZE = 1000;
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private static final int DELETE_CHUNK_SIZE = 1000;
+
     @PersistenceContext
     private final EntityManager em;
 
@@ -37,6 +49,37 @@ public class JpaBookRepository implements BookRepository {
         return query.getResultList();
     }
 
+    @Override
+    public List<Book> findPageAfter(long lastId, int limit) {
+        EntityGraph<?> entityGraph = em.getEntityGraph("book-author-entity-graph");
+        TypedQuery<Book> query = em.createQuery("select b from Book b where b.id > :lastId order by b.id", Book.class);
+        query.setParameter("lastId", lastId);
+        query.setMaxResults(limit);
+        query.setHint(FETCH.getKey(), entityGraph);
+        return query.getResultList();
+    }
+
+    // Books are read-only and the persistence context is cleared after every chunk, so it never holds the catalog
+    @Override
+    public void forEachBook(Consumer<Book> action) {
+        EntityGraph<?> entityGraph = em.getEntityGraph("book-author-entity-graph");
+        try (Stream<Book> books = em.createQuery("select b from Book b order by b.id", Book.class)
+                .setHint(FETCH.getKey(), entityGraph)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            List<Book> chunk = new ArrayList<>(CHUNK_SIZE);
+            Iterator<Book> iterator = books.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == CHUNK_SIZE) {
+                    processChunk(chunk, action);
+                }
+            }
+            processChunk(chunk, action);
+        }
+    }
+
     @Override
     public Book save(Book book) {
         if (book.getId() == 0) {
@@ -53,4 +96,31 @@ public class JpaBookRepository implements BookRepository {
             em.remove(reference);
         }
     }
-}
\ No newline at end of file
+
+    // Bulk delete skips loading, books_genres and comments rows go away through on delete cascade
+    @Override
+    public int deleteAllByIds(Collection<Long> ids) {
+        List<Long> idsList = new ArrayList<>(ids);
+        int deleted = 0;
+        for (int from = 0; from < idsList.size(); from += DELETE_CHUNK_SIZE) {
+            deleted += em.createQuery("delete from Book b where b.id in (:ids)")
+                    .setParameter("ids", idsList.subList(from, Math.min(from + DELETE_CHUNK_SIZE, idsList.size())))
+                    .executeUpdate();
+        }
+        return deleted;
+    }
+
+    private void processChunk(List<Book> chunk, Consumer<Book> action) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        // subselect fetching would reload genres of every streamed book, one join fetch covers the chunk instead
+        em.createQuery("select distinct b from Book b left join fetch b.genres where b in (:books)", Book.class)
+                .setParameter("books", chunk)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultList();
+        chunk.forEach(action);
+        chunk.clear();
+        em.clear();
+    }
+}
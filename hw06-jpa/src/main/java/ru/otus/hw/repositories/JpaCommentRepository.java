@@ -5,12 +5,16 @@ import jakarta.persistence.PersistenceContext;
 import org.springframework.stereotype.Repository;
 import ru.otus.hw.models.Comment;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public class JpaCommentRepository implements CommentRepository {
 
+    private static final int DELETE_CHUNK_SIZE = 1000;
+
     @PersistenceContext
     private EntityManager em;
 
@@ -26,6 +30,23 @@ public class JpaCommentRepository implements CommentRepository {
                 .getResultList();
     }
 
+    @Override
+    public List<Comment> findPageByBookId(long bookId, long lastId, int limit) {
+        return em.createQuery("select c from Comment c where c.book.id = :bookId and c.id > :lastId order by c.id",
+                        Comment.class)
+                .setParameter("bookId", bookId)
+                .setParameter("lastId", lastId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public long countByBookId(long bookId) {
+        return em.createQuery("select count(c) from Comment c where c.book.id = :bookId", Long.class)
+                .setParameter("bookId", bookId)
+                .getSingleResult();
+    }
+
     @Override
     public Comment save(Comment comment) {
         if (comment.getId() == 0) {
@@ -42,4 +63,17 @@ public class JpaCommentRepository implements CommentRepository {
             em.remove(managed);
         }
     }
+
+    @Override
+    public int deleteAllByBookIds(Collection<Long> bookIds) {
+        List<Long> bookIdsList = new ArrayList<>(bookIds);
+        int deleted = 0;
+        for (int from = 0; from < bookIdsList.size(); from += DELETE_CHUNK_SIZE) {
+            deleted += em.createQuery("delete from Comment c where c.book.id in (:bookIds)")
+                    .setParameter("bookIds",
+                            bookIdsList.subList(from, Math.min(from + DELETE_CHUNK_SIZE, bookIdsList.size())))
+                    .executeUpdate();
+        }
+        return deleted;
+    }
 }
@@ -3,6 +3,7 @@ package ru.otus.hw.repositories;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
 import ru.otus.hw.models.Genre;
 
@@ -18,13 +19,24 @@ public class JpaGenreRepository implements GenreRepository {
 
     @Override
     public List<Genre> findAll() {
-        return em.createQuery("select g from Genre g", Genre.class).getResultList();
+        return em.createQuery("select g from Genre g", Genre.class)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .getResultList();
+    }
+
+    @Override
+    public List<Genre> findPageAfter(long lastId, int limit) {
+        return em.createQuery("select g from Genre g where g.id > :lastId order by g.id", Genre.class)
+                .setParameter("lastId", lastId)
+                .setMaxResults(limit)
+                .getResultList();
     }
 
     @Override
     public List<Genre> findAllByIds(Set<Long> ids) {
         return em.createQuery("select g from Genre g where g.id in (:ids)", Genre.class)
                 .setParameter("ids", ids)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
                 .getResultList();
     }
 }
@@ -18,4 +18,13 @@ public class AuthorServiceImpl implements AuthorService {
     public List<Author> findAll() {
         return authorRepository.findAll();
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Author> findPageAfter(long lastId, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page limit must be positive");
+        }
+        return authorRepository.findPageAfter(lastId, limit);
+    }
 }
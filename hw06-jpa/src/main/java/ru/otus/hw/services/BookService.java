@@ -2,18 +2,26 @@ package ru.otus.hw.services;
 
 import ru.otus.hw.models.Book;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 
 public interface BookService {
     Optional<Book> findById(long id);
 
     List<Book> findAll();
 
+    List<Book> findPageAfter(long lastId, int limit);
+
+    void forEachBook(Consumer<Book> action);
+
     Book insert(String title, long authorId, Set<Long> genresIds);
 
     Book update(long id, String title, long authorId, Set<Long> genresIds);
 
     void deleteById(long id);
+
+    int deleteAllByIds(Collection<Long> ids);
 }
@@ -9,9 +9,11 @@ import ru.otus.hw.repositories.AuthorRepository;
 import ru.otus.hw.repositories.BookRepository;
 import ru.otus.hw.repositories.GenreRepository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.springframework.util.CollectionUtils.isEmpty;
 
@@ -38,6 +40,23 @@ public class BookServiceImpl implements BookService {
         return books;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Book> findPageAfter(long lastId, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page limit must be positive");
+        }
+        var books = bookRepository.findPageAfter(lastId, limit);
+        books.forEach(b -> b.getGenres().size());
+        return books;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachBook(Consumer<Book> action) {
+        bookRepository.forEachBook(action);
+    }
+
     @Override
     @Transactional
     public Book insert(String title, long authorId, Set<Long> genresIds) {
@@ -84,4 +103,10 @@ public class BookServiceImpl implements BookService {
     public void deleteById(long id) {
         bookRepository.deleteById(id);
     }
+
+    @Override
+    @Transactional
+    public int deleteAllByIds(Collection<Long> ids) {
+        return bookRepository.deleteAllByIds(ids);
+    }
 }
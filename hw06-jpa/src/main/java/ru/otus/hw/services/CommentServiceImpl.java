@@ -8,6 +8,7 @@ import ru.otus.hw.models.Comment;
 import ru.otus.hw.repositories.BookRepository;
 import ru.otus.hw.repositories.CommentRepository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,6 +32,21 @@ public class CommentServiceImpl implements CommentService {
         return commentRepository.findAllByBookId(bookId);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Comment> findPageByBookId(long bookId, long lastId, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page limit must be positive");
+        }
+        return commentRepository.findPageByBookId(bookId, lastId, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countByBookId(long bookId) {
+        return commentRepository.countByBookId(bookId);
+    }
+
     @Override
     @Transactional
     public Comment insert(String text, long bookId) {
@@ -56,4 +72,10 @@ public class CommentServiceImpl implements CommentService {
     public void deleteById(long id) {
         commentRepository.deleteById(id);
     }
+
+    @Override
+    @Transactional
+    public int deleteAllByBookIds(Collection<Long> bookIds) {
+        return commentRepository.deleteAllByBookIds(bookIds);
+    }
 }
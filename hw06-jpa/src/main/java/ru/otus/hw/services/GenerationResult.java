@@ -0,0 +1,16 @@
+package ru.otus.hw.services;
+
+import java.time.Duration;
+
+public record GenerationResult(long authors, long genres, long books, long genreLinks, long comments,
+                               Duration elapsed) {
+
+    public long rows() {
+        return authors + genres + books + genreLinks + comments;
+    }
+
+    public double rowsPerSecond() {
+        long millis = Math.max(elapsed.toMillis(), 1);
+        return rows() * 1000.0 / millis;
+    }
+}
@@ -18,4 +18,13 @@ public class GenreServiceImpl implements GenreService {
     public List<Genre> findAll() {
         return genreRepository.findAll();
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Genre> findPageAfter(long lastId, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page limit must be positive");
+        }
+        return genreRepository.findPageAfter(lastId, limit);
+    }
 }
@@ -0,0 +1,8 @@
+package ru.otus.hw.services;
+
+public record QueryPlan(String sql, String plan) {
+
+    public boolean tableScan() {
+        return plan.contains(".tableScan");
+    }
+}
@@ -0,0 +1,11 @@
+package ru.otus.hw.services;
+
+import org.hibernate.stat.CacheRegionStatistics;
+
+import java.util.Map;
+
+public interface ReferenceCacheService {
+    Map<String, CacheRegionStatistics> stats();
+
+    void invalidateAll();
+}
@@ -0,0 +1,47 @@
+-- ids come from sequences with the same increment as the Hibernate allocation size (pooled-lo),
+-- so plain SQL inserts and Hibernate id blocks never overlap; the first block is left for data-high-throughput.sql
+create sequence authors_seq start with 51 increment by 50;
+create sequence genres_seq start with 51 increment by 50;
+create sequence books_seq start with 51 increment by 50;
+create sequence comments_seq start with 51 increment by 50;
+
+create table authors (
+    id bigint default next value for authors_seq,
+    full_name varchar(255),
+    primary key (id)
+);
+
+create table genres (
+    id bigint default next value for genres_seq,
+    name varchar(255),
+    primary key (id)
+);
+
+create table books (
+    id bigint default next value for books_seq,
+    title varchar(255),
+    author_id bigint references authors (id) on delete cascade,
+    primary key (id)
+);
+
+create table books_genres (
+    book_id bigint references books(id) on delete cascade,
+    genre_id bigint references genres(id) on delete cascade,
+    primary key (book_id, genre_id)
+);
+
+create table comments (
+    id bigint default next value for comments_seq,
+    text varchar(255),
+    book_id bigint references books (id) on delete cascade,
+    primary key (id)
+);
+
+-- books of an author are found and cascaded by author_id
+create index books_author_id_idx on books (author_id);
+
+-- books of a genre are found and cascaded by genre_id, the primary key only covers lookups by book_id
+create index books_genres_genre_id_book_id_idx on books_genres (genre_id, book_id);
+
+-- comments of a book are listed by keyset on id and counted without touching the table rows
+create index comments_book_id_id_idx on comments (book_id, id);
@@ -28,4 +28,13 @@ create table comments (
     text varchar(255),
     book_id bigint references books (id) on delete cascade,
     primary key (id)
-);
\ No newline at end of file
+);
+
+-- books of an author are found and cascaded by author_id
+create index books_author_id_idx on books (author_id);
+
+-- books of a genre are found and cascaded by genre_id, the primary key only covers lookups by book_id
+create index books_genres_genre_id_book_id_idx on books_genres (genre_id, book_id);
+
+-- comments of a book are listed by keyset on id and counted without touching the table rows
+create index comments_book_id_id_idx on comments (book_id, id);
@@ -3,12 +3,15 @@ package ru.otus.hw.repositories;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.jdbc.Sql;
 import ru.otus.hw.models.Author;
 import ru.otus.hw.models.Book;
+import ru.otus.hw.models.Comment;
 import ru.otus.hw.models.Genre;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -22,9 +25,12 @@ class JpaBookRepositoryTest {
 
     private final JpaBookRepository bookRepository;
 
+    private final TestEntityManager em;
+
     @Autowired
-    JpaBookRepositoryTest(JpaBookRepository bookRepository) {
+    JpaBookRepositoryTest(JpaBookRepository bookRepository, TestEntityManager em) {
         this.bookRepository = bookRepository;
+        this.em = em;
     }
 
     @Test
@@ -62,4 +68,56 @@ class JpaBookRepositoryTest {
                 .ignoringCollectionOrder()
                 .isEqualTo(expected);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("должен загружать страницу книг после заданного id")
+    void shouldReturnBooksPageAfterId() {
+        var expected = List.of(
+                new Book(2L,"BookTitle_2", new Author(2L,"Author_2"),
+                        List.of(new Genre(3L,"Genre_3"), new Genre(4L,"Genre_4")))
+        );
+
+        var actual = bookRepository.findPageAfter(1L, 1);
+        assertThat(actual)
+                .usingRecursiveComparison()
+                .ignoringCollectionOrder()
+                .isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("должен передавать каждую книгу с жанрами, не удерживая их в контексте персистентности")
+    void shouldPassEveryBookToConsumer() {
+        var expected = List.of(
+                new Book(1L,"BookTitle_1", new Author(1L,"Author_1"),
+                        List.of(new Genre(1L,"Genre_1"), new Genre(2L,"Genre_2"))),
+                new Book(2L,"BookTitle_2", new Author(2L,"Author_2"),
+                        List.of(new Genre(3L,"Genre_3"), new Genre(4L,"Genre_4"))),
+                new Book(3L,"BookTitle_3", new Author(3L,"Author_3"),
+                        List.of(new Genre(5L,"Genre_5"), new Genre(6L,"Genre_6")))
+        );
+
+        var actual = new ArrayList<Book>();
+        bookRepository.forEachBook(actual::add);
+
+        assertThat(actual)
+                .usingRecursiveComparison()
+                .ignoringCollectionOrder()
+                .isEqualTo(expected);
+        assertThat(actual).noneMatch(em.getEntityManager()::contains);
+    }
+
+    @Test
+    @DisplayName("должен удалять книги по списку id вместе с комментариями")
+    void shouldDeleteBooksByIdsWithComments() {
+        var comment = em.persist(new Comment(0, "Comment_1", em.find(Book.class, 1L)));
+        em.flush();
+
+        assertThat(bookRepository.deleteAllByIds(List.of(1L, 2L, 100L))).isEqualTo(2);
+        em.clear();
+
+        assertThat(em.find(Book.class, 1L)).isNull();
+        assertThat(em.find(Book.class, 2L)).isNull();
+        assertThat(em.find(Comment.class, comment.getId())).isNull();
+        assertThat(em.find(Book.class, 3L)).isNotNull();
+    }
+}
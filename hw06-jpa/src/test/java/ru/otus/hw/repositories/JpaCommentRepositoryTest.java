@@ -11,6 +11,7 @@ import ru.otus.hw.models.Comment;
 import ru.otus.hw.models.Genre;
 
 import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -67,4 +68,30 @@ class JpaCommentRepositoryTest {
         commentRepository.deleteById(saved.getId());
         assertThat(commentRepository.findById(saved.getId())).isEmpty();
     }
-} 
\ No newline at end of file
+
+    @Test
+    @DisplayName("должен удалять все комментарии заданных книг")
+    void shouldDeleteAllByBookIds() {
+        commentRepository.save(new Comment(0, "Text_1", new Book(1L, null, null, null)));
+        commentRepository.save(new Comment(0, "Text_2", new Book(1L, null, null, null)));
+        commentRepository.save(new Comment(0, "Text_3", new Book(2L, null, null, null)));
+
+        assertThat(commentRepository.deleteAllByBookIds(Set.of(1L))).isEqualTo(2);
+        assertThat(commentRepository.findAllByBookId(1L)).isEmpty();
+        assertThat(commentRepository.findAllByBookId(2L)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("должен загружать страницу комментариев книги после заданного id и считать их")
+    void shouldFindPageByBookIdAndCount() {
+        var first = commentRepository.save(new Comment(0, "Text_1", new Book(1L, null, null, null)));
+        commentRepository.save(new Comment(0, "Text_2", new Book(1L, null, null, null)));
+        commentRepository.save(new Comment(0, "Text_3", new Book(2L, null, null, null)));
+        commentRepository.save(new Comment(0, "Text_4", new Book(1L, null, null, null)));
+
+        var page = commentRepository.findPageByBookId(1L, first.getId(), 1);
+
+        assertThat(page).extracting(Comment::getText).containsExactly("Text_2");
+        assertThat(commentRepository.countByBookId(1L)).isEqualTo(3);
+    }
+}
@@ -15,6 +15,7 @@ import java.util.List;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @SpringBootTest
 @Transactional(propagation = Propagation.NEVER)
@@ -53,4 +54,11 @@ class BookServiceImplIT {
                 .ignoringCollectionOrder()
                 .isEqualTo(expected);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("findPageAfter: должен отклонять пустой или отрицательный размер страницы")
+    void findPageAfter_ShouldRejectNonPositiveLimit() {
+        assertThatThrownBy(() -> bookService.findPageAfter(0L, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> bookService.findPageAfter(0L, -1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,46 @@
+package ru.otus.hw.services;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.otus.hw.models.Book;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:high-throughput")
+@ActiveProfiles("high-throughput")
+@Transactional(propagation = Propagation.NEVER)
+@DisplayName("Интеграционный тест профиля high-throughput")
+class HighThroughputProfileIT {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private CatalogGeneratorService catalogGeneratorService;
+
+    @Test
+    @DisplayName("insert: должен выдавать id блоками последовательности без пересечений")
+    void insert_ShouldTakeIdsFromSequenceBlocks() {
+        var first = bookService.insert("BookTitle_A", 1L, Set.of(1L, 2L));
+        catalogGeneratorService.generate(
+                new CatalogGenerationSettings(0, 0, 120, 1, 2, GenreDistribution.UNIFORM, 1, 42, 50));
+        var second = bookService.insert("BookTitle_B", 1L, Set.of(3L));
+        var comment = commentService.insert("Comment_B", second.getId());
+
+        assertThat(second.getId()).isEqualTo(first.getId() + 1);
+        assertThat(bookService.findById(second.getId())).get().extracting(Book::getTitle).isEqualTo("BookTitle_B");
+        assertThat(commentService.findAllByBookId(second.getId())).singleElement()
+                .satisfies(c -> assertThat(c.getId()).isEqualTo(comment.getId()));
+        assertThat(bookService.findAll()).hasSize(3 + 2 + 120);
+    }
+}
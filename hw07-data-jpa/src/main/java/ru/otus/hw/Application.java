@@ -2,8 +2,12 @@ package ru.otus.hw;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import ru.otus.hw.config.CommandBatchProperties;
+import ru.otus.hw.config.CommentIngestionProperties;
 
 @SpringBootApplication
+@EnableConfigurationProperties({CommentIngestionProperties.class, CommandBatchProperties.class})
 public class Application {
 
 	public static void main(String[] args) {
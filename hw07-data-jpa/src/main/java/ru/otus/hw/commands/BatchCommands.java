@@ -0,0 +1,47 @@
+package ru.otus.hw.commands;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@SuppressWarnings({"SpellCheckingInspection", "unused"})
+@RequiredArgsConstructor
+@ShellComponent
+public class BatchCommands {
+
+    private final CommandBatchExecutor commandBatchExecutor;
+
+    // batch commands.txt --threads 16, or batch - to read commands from stdin
+    @ShellMethod(value = "Run independent commands from a file concurrently, one transaction per command",
+            key = "batch")
+    public String runBatch(String file, @ShellOption(defaultValue = ShellOption.NULL) Integer threads) {
+        if (file.equals("-")) {
+            // closing a reader over System.in would close the shell's own input as well
+            return run(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)), threads);
+        }
+        try (var reader = Files.newBufferedReader(Path.of(file))) {
+            return run(reader, threads);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String run(BufferedReader reader, Integer threads) {
+        var lines = reader.lines().iterator();
+        var result = threads == null ? commandBatchExecutor.execute(lines)
+                : commandBatchExecutor.execute(lines, threads);
+        var summary = "Executed %d commands, %d failed, in %d ms (%.0f commands/sec)".formatted(
+                result.executed(), result.failed(), result.elapsed().toMillis(), result.commandsPerSecond());
+        return result.errors().isEmpty() ? summary
+                : summary + System.lineSeparator() + String.join(System.lineSeparator(), result.errors());
+    }
+}
@@ -3,6 +3,7 @@ package ru.otus.hw.commands;
 import lombok.RequiredArgsConstructor;
 import org.springframework.shell.standard.ShellComponent;
 import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
 import ru.otus.hw.converters.BookConverter;
 import ru.otus.hw.services.BookService;
 
@@ -14,14 +15,20 @@ import java.util.stream.Collectors;
 @ShellComponent
 public class BookCommands {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
     private final BookService bookService;
 
     private final BookConverter bookConverter;
 
     @ShellMethod(value = "Find all books", key = "ab")
-    public String findAllBooks() {
-        return bookService.findAll().stream()
-                .map(bookConverter::bookToString)
+    public String findAllBooks(@ShellOption(defaultValue = ShellOption.NULL) Long after,
+                               @ShellOption(defaultValue = ShellOption.NULL) Integer limit) {
+        var books = after == null && limit == null ? bookService.findAllSummaries()
+                : bookService.findSummariesPageAfter(after == null ? 0 : after,
+                limit == null ? DEFAULT_PAGE_SIZE : limit);
+        return books.stream()
+                .map(bookConverter::bookSummaryToString)
                 .collect(Collectors.joining("," + System.lineSeparator()));
     }
 
@@ -51,4 +58,10 @@ public class BookCommands {
     public void deleteBook(long id) {
         bookService.deleteById(id);
     }
+
+    // bdela 4,5,6
+    @ShellMethod(value = "Delete books by ids", key = "bdela")
+    public String deleteBooks(Set<Long> ids) {
+        return "Deleted books: %d".formatted(bookService.deleteAllByIds(ids));
+    }
 }
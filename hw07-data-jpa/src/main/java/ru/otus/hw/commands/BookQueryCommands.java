@@ -0,0 +1,36 @@
+package ru.otus.hw.commands;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+import ru.otus.hw.converters.BookConverter;
+import ru.otus.hw.services.BookQueryService;
+
+import java.util.stream.Collectors;
+
+@SuppressWarnings({"SpellCheckingInspection", "unused"})
+@RequiredArgsConstructor
+@ShellComponent
+public class BookQueryCommands {
+
+    private final BookQueryService bookQueryService;
+
+    private final BookConverter bookConverter;
+
+    // bquery "Genre_1 AND Genre_3 NOT Genre_5" --after 0 --limit 20
+    @ShellMethod(value = "Find books by genres and authors combined with AND, OR, NOT and parentheses",
+            key = "bquery")
+    public String queryBooks(String expression, @ShellOption(defaultValue = "0") long after,
+                             @ShellOption(defaultValue = "20") int limit) {
+        var result = bookQueryService.query(expression, after, limit);
+        var books = result.books().stream()
+                .map(bookConverter::bookToString)
+                .collect(Collectors.joining("," + System.lineSeparator()));
+        var facets = result.genreFacets().entrySet().stream()
+                .map(facet -> "%s: %d".formatted(facet.getKey(), facet.getValue()))
+                .collect(Collectors.joining(", "));
+        return books + System.lineSeparator() + "Found: " + result.total() + System.lineSeparator()
+                + "Genres: " + facets;
+    }
+}
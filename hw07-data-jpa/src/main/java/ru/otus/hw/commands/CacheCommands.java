@@ -0,0 +1,35 @@
+package ru.otus.hw.commands;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import ru.otus.hw.services.ReferenceCacheService;
+
+import java.util.stream.Collectors;
+
+@SuppressWarnings({"SpellCheckingInspection", "unused"})
+@RequiredArgsConstructor
+@ShellComponent
+public class CacheCommands {
+
+    private final ReferenceCacheService referenceCacheService;
+
+    @ShellMethod(value = "Show second level cache statistics", key = "cstat")
+    public String showCacheStatistics() {
+        return referenceCacheService.stats().entrySet().stream()
+                .map(e -> "%s: hits: %d, misses: %d, puts: %d, hit rate: %.2f".formatted(
+                        e.getKey(), e.getValue().getHitCount(), e.getValue().getMissCount(), e.getValue().getPutCount(),
+                        hitRate(e.getValue().getHitCount(), e.getValue().getMissCount())))
+                .collect(Collectors.joining(System.lineSeparator()));
+    }
+
+    @ShellMethod(value = "Evict everything from second level cache", key = "cevict")
+    public String evictCaches() {
+        referenceCacheService.invalidateAll();
+        return "Second level cache cleared";
+    }
+
+    private static double hitRate(long hits, long misses) {
+        return hits + misses == 0 ? 1.0 : (double) hits / (hits + misses);
+    }
+}
@@ -0,0 +1,146 @@
+package ru.otus.hw.commands;
+
+import org.jline.terminal.Terminal;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.shell.command.CommandCatalog;
+import org.springframework.shell.command.CommandExecution;
+import org.springframework.shell.command.CommandExecution.CommandExecutionHandlerMethodArgumentResolvers;
+import org.springframework.shell.config.ShellConversionServiceSupplier;
+import org.springframework.shell.jline.ExtendedDefaultParser;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.otus.hw.config.CommandBatchProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Runs independent shell commands on a pool of workers, each command in its own transaction.
+// Workers are platform threads sized to the connection pool, virtual threads need a newer JDK
+@Component
+public class CommandBatchExecutor {
+
+    private static final int MAX_REPORTED_ERRORS = 10;
+
+    private final CommandBatchProperties properties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    // the catalog lists the batch command too, so it is looked up on first use
+    private final ObjectProvider<CommandCatalog> commandCatalog;
+
+    private final ObjectProvider<Terminal> terminal;
+
+    private final ConversionService conversionService;
+
+    private final CommandExecutionHandlerMethodArgumentResolvers argumentResolvers;
+
+    private final AtomicInteger threadCounter = new AtomicInteger();
+
+    public CommandBatchExecutor(CommandBatchProperties properties, TransactionTemplate transactionTemplate,
+                                ObjectProvider<CommandCatalog> commandCatalog, ObjectProvider<Terminal> terminal,
+                                ShellConversionServiceSupplier conversionServiceSupplier,
+                                CommandExecutionHandlerMethodArgumentResolvers argumentResolvers) {
+        this.properties = properties;
+        this.transactionTemplate = transactionTemplate;
+        this.commandCatalog = commandCatalog;
+        this.terminal = terminal;
+        this.conversionService = conversionServiceSupplier.get();
+        this.argumentResolvers = argumentResolvers;
+    }
+
+    public CommandBatchResult execute(Iterator<String> lines) {
+        return execute(lines, properties.getThreads());
+    }
+
+    // Commands may run in any order, so a batch must not depend on the results of its own commands
+    public CommandBatchResult execute(Iterator<String> lines, int threads) {
+        long start = System.nanoTime();
+        var catalog = commandCatalog.getObject();
+        var execution = CommandExecution.of(argumentResolvers.getResolvers(), null, terminal.getObject(),
+                conversionService, catalog);
+        var commands = catalog.getRegistrations().keySet();
+        var parser = new ExtendedDefaultParser();
+        var executed = new LongAdder();
+        var failed = new LongAdder();
+        List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        var workers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                r -> new Thread(r, "command-batch-" + threadCounter.incrementAndGet()),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        try {
+            while (lines.hasNext()) {
+                String line = lines.next().strip();
+                if (line.isEmpty() || line.startsWith("//")) {
+                    continue;
+                }
+                String[] words = parser.parse(line, line.length()).words().stream()
+                        .filter(word -> !word.isEmpty())
+                        .toArray(String[]::new);
+                if (!isCommand(words, commands)) {
+                    reportFailure(line, "No command found", failed, errors);
+                    executed.increment();
+                    continue;
+                }
+                workers.execute(() -> {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> execution.evaluate(words));
+                    } catch (RuntimeException e) {
+                        reportFailure(line, rootMessage(e), failed, errors);
+                    }
+                    executed.increment();
+                });
+            }
+        } finally {
+            workers.shutdown();
+            awaitTermination(workers);
+        }
+        return new CommandBatchResult(executed.sum(), failed.sum(), Duration.ofNanos(System.nanoTime() - start),
+                List.copyOf(errors));
+    }
+
+    // Commands may be several words long, the rest of the words are their options
+    private static boolean isCommand(String[] words, Set<String> commands) {
+        var command = new StringBuilder();
+        for (String word : words) {
+            command.append(command.isEmpty() ? "" : " ").append(word);
+            if (commands.contains(command.toString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void reportFailure(String line, String message, LongAdder failed, List<String> errors) {
+        failed.increment();
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add("%s: %s".formatted(line, message));
+        }
+    }
+
+    private static void awaitTermination(ThreadPoolExecutor workers) {
+        try {
+            workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String rootMessage(Throwable e) {
+        var cause = e;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+}
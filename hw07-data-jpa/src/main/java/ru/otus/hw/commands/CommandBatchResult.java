@@ -0,0 +1,11 @@
+package ru.otus.hw.commands;
+
+import java.time.Duration;
+import java.util.List;
+
+public record CommandBatchResult(long executed, long failed, Duration elapsed, List<String> errors) {
+
+    public double commandsPerSecond() {
+        return elapsed.isZero() ? 0 : executed * 1_000_000_000.0 / elapsed.toNanos();
+    }
+}
@@ -3,25 +3,42 @@ package ru.otus.hw.commands;
 import lombok.RequiredArgsConstructor;
 import org.springframework.shell.standard.ShellComponent;
 import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
 import ru.otus.hw.converters.CommentConverter;
+import ru.otus.hw.services.CommentIngestionService;
 import ru.otus.hw.services.CommentService;
 
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @ShellComponent
 public class CommentCommands {
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
     private final CommentService commentService;
 
+    private final CommentIngestionService commentIngestionService;
+
     private final CommentConverter commentConverter;
 
     @ShellMethod(value = "Find all commets by book id", key = "acbbi")
-    public String findAllCommentsByBookId(long bookId) {
-        return commentService.findAllByBookId(bookId).stream()
+    public String findAllCommentsByBookId(long bookId,
+                                          @ShellOption(defaultValue = ShellOption.NULL) Long after,
+                                          @ShellOption(defaultValue = ShellOption.NULL) Integer limit) {
+        var comments = after == null && limit == null ? commentService.findAllByBookId(bookId)
+                : commentService.findPageByBookId(bookId, after == null ? 0 : after,
+                limit == null ? DEFAULT_PAGE_SIZE : limit);
+        return comments.stream()
                 .map(commentConverter::commentToString)
                 .collect(Collectors.joining("," + System.lineSeparator()));
     }
 
+    @ShellMethod(value = "Count comments by book id", key = "ccbbi")
+    public String countCommentsByBookId(long bookId) {
+        return "Comments: %d".formatted(commentService.countByBookId(bookId));
+    }
+
     @ShellMethod(value = "Find comment by id", key = "cbid")
     public String findCommentById(long id) {
         return commentService.findById(id)
@@ -35,6 +52,29 @@ public class CommentCommands {
         return commentConverter.commentToString(savedComment);
     }
 
+    // the comment is written by the next batch, cflush waits for it
+    @ShellMethod(value = "Queue comment for batched insert", key = "cinsq")
+    public String queueComment(String text, long bookId) {
+        commentIngestionService.enqueue(text, bookId);
+        return "Comment queued for book %d".formatted(bookId);
+    }
+
+    @ShellMethod(value = "Write all queued comments", key = "cflush")
+    public String flushComments() {
+        commentIngestionService.flush();
+        return "Queued comments written";
+    }
+
+    @ShellMethod(value = "Show queued comments ingestion statistics", key = "cistat")
+    public String showIngestionStatistics() {
+        var stats = commentIngestionService.statistics();
+        return ("enqueued: %d, written: %d, rejected: %d, failed: %d, flush errors: %d, queued: %d, batches: %d, " +
+                "avg batch: %.2f ms, avg flush latency: %.2f ms, max flush latency: %d ms").formatted(
+                stats.enqueued(), stats.written(), stats.rejected(), stats.failed(), stats.flushErrors(),
+                stats.queued(), stats.batches(), stats.averageBatchMillis(), stats.averageFlushLatencyMillis(),
+                stats.maxFlushLatencyMillis());
+    }
+
     @ShellMethod(value = "Update comment", key = "cupd")
     public String updateComment(long id, String text) {
         var savedComment = commentService.update(id, text);
@@ -45,4 +85,10 @@ public class CommentCommands {
     public void deleteComment(long id) {
         commentService.deleteById(id);
     }
+
+    // cdelab 1,2
+    @ShellMethod(value = "Delete all comments of books", key = "cdelab")
+    public String deleteCommentsByBookIds(Set<Long> bookIds) {
+        return "Deleted comments: %d".formatted(commentService.deleteAllByBookIds(bookIds));
+    }
 }
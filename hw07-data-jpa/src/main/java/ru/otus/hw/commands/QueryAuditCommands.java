@@ -0,0 +1,33 @@
+package ru.otus.hw.commands;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+import ru.otus.hw.services.QueryPlan;
+import ru.otus.hw.services.QueryPlanAuditService;
+
+import java.util.stream.Collectors;
+
+@SuppressWarnings({"SpellCheckingInspection", "unused"})
+@RequiredArgsConstructor
+@ShellComponent
+public class QueryAuditCommands {
+
+    private final QueryPlanAuditService queryPlanAuditService;
+
+    @ShellMethod(value = "Explain issued queries and show table scans", key = "qaudit")
+    public String auditQueries(@ShellOption(defaultValue = "false") boolean all) {
+        if (!queryPlanAuditService.isEnabled()) {
+            return "Query recording is disabled, start the application with --query-audit.enabled=true";
+        }
+        var plans = queryPlanAuditService.audit();
+        long tableScans = plans.stream().filter(QueryPlan::tableScan).count();
+        var report = plans.stream()
+                .filter(plan -> all || plan.tableScan())
+                .map(plan -> "%s%s%n%s".formatted(plan.tableScan() ? "TABLE SCAN: " : "", plan.sql(), plan.plan()))
+                .collect(Collectors.joining(System.lineSeparator() + System.lineSeparator()));
+        return report + (report.isEmpty() ? "" : System.lineSeparator() + System.lineSeparator())
+                + "Audited %d statements, table scans: %d".formatted(plans.size(), tableScans);
+    }
+}
@@ -0,0 +1,49 @@
+package ru.otus.hw.commands;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+import ru.otus.hw.converters.BookConverter;
+import ru.otus.hw.converters.CommentConverter;
+import ru.otus.hw.services.TextSearchService;
+
+import java.util.stream.Collectors;
+
+@SuppressWarnings({"SpellCheckingInspection", "unused"})
+@RequiredArgsConstructor
+@ShellComponent
+public class SearchCommands {
+
+    private static final String DEFAULT_LIMIT = "20";
+
+    private final TextSearchService textSearchService;
+
+    private final BookConverter bookConverter;
+
+    private final CommentConverter commentConverter;
+
+    // bsearch "war peace" or bsearch "pea*"
+    @ShellMethod(value = "Search books by title words, a trailing * matches a prefix", key = "bsearch")
+    public String searchBooks(String query, @ShellOption(defaultValue = DEFAULT_LIMIT) int limit) {
+        return textSearchService.searchBooks(query, limit).stream()
+                .map(bookConverter::bookToString)
+                .collect(Collectors.joining("," + System.lineSeparator()));
+    }
+
+    @ShellMethod(value = "Search comments by text words, a trailing * matches a prefix", key = "csearch")
+    public String searchComments(String query, @ShellOption(defaultValue = DEFAULT_LIMIT) int limit) {
+        return textSearchService.searchComments(query, limit).stream()
+                .map(commentConverter::commentToString)
+                .collect(Collectors.joining("," + System.lineSeparator()));
+    }
+
+    @ShellMethod(value = "Rebuild search indexes from the database", key = "sreindex")
+    public String rebuildSearchIndexes() {
+        long start = System.nanoTime();
+        textSearchService.rebuild();
+        var stats = textSearchService.statistics();
+        return "Indexed %d books (%d terms) and %d comments (%d terms) in %d ms".formatted(stats.books(),
+                stats.bookTerms(), stats.comments(), stats.commentTerms(), (System.nanoTime() - start) / 1_000_000);
+    }
+}
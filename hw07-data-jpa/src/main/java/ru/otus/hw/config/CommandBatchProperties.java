@@ -0,0 +1,17 @@
+package ru.otus.hw.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "command-batch")
+public class CommandBatchProperties {
+
+    // workers beyond the connection pool size would only wait for a connection
+    private int threads = 16;
+
+    // parsed commands waiting for a worker, the reader runs commands itself when it is full
+    private int queueCapacity = 1000;
+}
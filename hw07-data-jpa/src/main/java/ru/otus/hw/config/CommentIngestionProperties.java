@@ -0,0 +1,29 @@
+package ru.otus.hw.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "comment-ingestion")
+public class CommentIngestionProperties {
+
+    private int queueCapacity = 10_000;
+
+    private int batchSize = 500;
+
+    // queued comments are written at least this often even if the batch is not full
+    private Duration maxDelay = Duration.ofMillis(200);
+
+    private Backpressure backpressure = Backpressure.BLOCK;
+
+    // how long BLOCK waits for room in a full queue before giving up
+    private Duration offerTimeout = Duration.ofSeconds(1);
+
+    public enum Backpressure {
+        BLOCK, REJECT
+    }
+}
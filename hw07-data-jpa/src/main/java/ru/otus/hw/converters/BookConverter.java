@@ -2,6 +2,7 @@ package ru.otus.hw.converters;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
+import ru.otus.hw.dto.BookSummaryDto;
 import ru.otus.hw.models.Book;
 
 import java.util.stream.Collectors;
@@ -24,4 +25,12 @@ public class BookConverter {
                 authorConverter.authorToString(book.getAuthor()),
                 genresString);
     }
+
+    public String bookSummaryToString(BookSummaryDto book) {
+        return "Id: %d, title: %s, author: %s, genres: [%s]".formatted(
+                book.id(),
+                book.title(),
+                book.authorFullName(),
+                book.genreNames() == null ? "" : book.genreNames());
+    }
 }
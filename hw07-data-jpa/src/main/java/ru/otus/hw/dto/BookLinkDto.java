@@ -0,0 +1,4 @@
+package ru.otus.hw.dto;
+
+public record BookLinkDto(long bookId, long authorId, String authorFullName, Long genreId, String genreName) {
+}
@@ -0,0 +1,4 @@
+package ru.otus.hw.dto;
+
+public record BookSummaryDto(long id, String title, String authorFullName, String genreNames) {
+}
@@ -0,0 +1,4 @@
+package ru.otus.hw.dto;
+
+public record IndexedTextDto(long id, String text) {
+}
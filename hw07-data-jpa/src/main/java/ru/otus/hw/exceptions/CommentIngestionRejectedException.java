@@ -0,0 +1,7 @@
+package ru.otus.hw.exceptions;
+
+public class CommentIngestionRejectedException extends RuntimeException {
+    public CommentIngestionRejectedException(String message) {
+        super(message);
+    }
+}
@@ -1,6 +1,11 @@
 package ru.otus.hw.repositories;
 
 import jakarta.annotation.Nonnull;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import ru.otus.hw.models.Author;
 
@@ -8,5 +13,12 @@ import java.util.List;
 
 public interface AuthorRepository extends CrudRepository<Author, Long> {
     @Nonnull
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Author> findAll();
+
+    // Past the query cache, so rows written with plain SQL are seen too
+    @Query("select a from Author a")
+    List<Author> findAllUncached();
+
+    List<Author> findByIdGreaterThanOrderByIdAsc(long id, Limit limit);
 }
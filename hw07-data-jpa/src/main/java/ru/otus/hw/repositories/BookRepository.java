@@ -1,14 +1,33 @@
 package ru.otus.hw.repositories;
 
 import jakarta.annotation.Nonnull;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.otus.hw.dto.BookLinkDto;
+import ru.otus.hw.dto.BookSummaryDto;
+import ru.otus.hw.dto.IndexedTextDto;
 import ru.otus.hw.models.Book;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
-public interface BookRepository extends CrudRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long> {
+
+    // Constructor expressions return plain objects, nothing ends up in the persistence context
+    String SELECT_BOOK_SUMMARIES = "select new ru.otus.hw.dto.BookSummaryDto(b.id, b.title, a.fullName, " +
+            "listagg(g.name, ', ') within group (order by g.id)) " +
+            "from Book b join b.author a left join b.genres g ";
+
+    String GROUP_BOOK_SUMMARIES = "group by b.id, b.title, a.fullName order by b.id";
 
     @EntityGraph("book-author-genres-entity-graph")
     @Override
@@ -17,4 +36,42 @@ public interface BookRepository extends CrudRepository<Book, Long> {
     @Nonnull
     @EntityGraph("book-author-entity-graph")
     List<Book> findAll();
+
+    @EntityGraph("book-author-entity-graph")
+    List<Book> findByIdGreaterThanOrderByIdAsc(long id, Limit limit);
+
+    @EntityGraph("book-author-entity-graph")
+    List<Book> findByIdIn(Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new ru.otus.hw.dto.IndexedTextDto(b.id, b.title) from Book b")
+    Stream<IndexedTextDto> streamTitles();
+
+    // One row per book and genre, a book without genres comes with a null genre
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new ru.otus.hw.dto.BookLinkDto(b.id, a.id, a.fullName, g.id, g.name) " +
+            "from Book b join b.author a left join b.genres g")
+    Stream<BookLinkDto> streamLinks();
+
+    @Query(SELECT_BOOK_SUMMARIES + GROUP_BOOK_SUMMARIES)
+    List<BookSummaryDto> findAllSummaries();
+
+    @Query(SELECT_BOOK_SUMMARIES + "where b.id > :lastId " + GROUP_BOOK_SUMMARIES)
+    List<BookSummaryDto> findSummariesAfter(long lastId, Limit limit);
+
+    @Query("select b.id from Book b where b.id in (:ids)")
+    Set<Long> findIdsByIdIn(Collection<Long> ids);
+
+    // Bulk delete skips loading, books_genres and comments rows go away through on delete cascade
+    @Modifying
+    @Query("delete from Book b where b.id in (:ids)")
+    int deleteByIdIn(Collection<Long> ids);
+
+    default int deleteAllByIds(Collection<Long> ids) {
+        int deleted = 0;
+        for (var chunk : IdChunks.of(ids)) {
+            deleted += deleteByIdIn(chunk);
+        }
+        return deleted;
+    }
 }
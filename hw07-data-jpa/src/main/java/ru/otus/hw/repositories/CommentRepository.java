@@ -1,10 +1,51 @@
 package ru.otus.hw.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import ru.otus.hw.dto.IndexedTextDto;
 import ru.otus.hw.models.Comment;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface CommentRepository extends CrudRepository<Comment, Long> {
     List<Comment> findByBookId(Long bookId);
+
+    List<Comment> findByBookIdAndIdGreaterThanOrderByIdAsc(Long bookId, long id, Limit limit);
+
+    long countByBookId(Long bookId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new ru.otus.hw.dto.IndexedTextDto(c.id, c.text) from Comment c")
+    Stream<IndexedTextDto> streamTexts();
+
+    @Query("select c.id from Comment c where c.book.id in (:bookIds)")
+    List<Long> findIdsByBookIdIn(Collection<Long> bookIds);
+
+    default List<Long> findIdsByBookIds(Collection<Long> bookIds) {
+        List<Long> ids = new ArrayList<>();
+        for (var chunk : IdChunks.of(bookIds)) {
+            ids.addAll(findIdsByBookIdIn(chunk));
+        }
+        return ids;
+    }
+
+    @Modifying
+    @Query("delete from Comment c where c.book.id in (:bookIds)")
+    int deleteByBookIdIn(Collection<Long> bookIds);
+
+    default int deleteAllByBookIds(Collection<Long> bookIds) {
+        int deleted = 0;
+        for (var chunk : IdChunks.of(bookIds)) {
+            deleted += deleteByBookIdIn(chunk);
+        }
+        return deleted;
+    }
 }
@@ -1,6 +1,11 @@
 package ru.otus.hw.repositories;
 
 import jakarta.annotation.Nonnull;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import ru.otus.hw.models.Genre;
 
@@ -9,7 +14,15 @@ import java.util.Set;
 
 public interface GenreRepository extends CrudRepository<Genre, Long> {
     @Nonnull
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Genre> findAll();
 
+    // Past the query cache, so rows written with plain SQL are seen too
+    @Query("select g from Genre g")
+    List<Genre> findAllUncached();
+
+    List<Genre> findByIdGreaterThanOrderByIdAsc(long id, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Genre> findByIdIn(Set<Long> ids);
 }
@@ -0,0 +1,23 @@
+package ru.otus.hw.repositories;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// Bulk statements take their ids in chunks, so an IN-list never grows past CHUNK_SIZE parameters
+final class IdChunks {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private IdChunks() {
+    }
+
+    static List<List<Long>> of(Collection<Long> ids) {
+        List<Long> idsList = new ArrayList<>(ids);
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < idsList.size(); from += CHUNK_SIZE) {
+            chunks.add(idsList.subList(from, Math.min(from + CHUNK_SIZE, idsList.size())));
+        }
+        return chunks;
+    }
+}
@@ -6,4 +6,6 @@ import java.util.List;
 
 public interface AuthorService {
     List<Author> findAll();
+
+    List<Author> findPageAfter(long lastId, int limit);
 }
@@ -0,0 +1,373 @@
+package ru.otus.hw.services;
+
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import ru.otus.hw.exceptions.EntityNotFoundException;
+import ru.otus.hw.models.Author;
+import ru.otus.hw.models.Genre;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// Compressed book id sets per genre and per author id. Deleted books keep their stale bits in those sets
+// and are subtracted from every selection instead, the index is rebuilt from scratch anyway
+public class BookBitmapIndex {
+
+    private static final int[] NO_GENRES = {};
+
+    // Below one selected book in this many, facets are counted from the selected books' genres
+    private static final int FACET_SCAN_RATIO = 16;
+
+    private static final Pattern TOKEN = Pattern.compile("\\(|\\)|(?:genre:|author:)?\"[^\"]*\"|[^\\s()]+");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final RoaringBitmap books = new RoaringBitmap();
+
+    private final RoaringBitmap deleted = new RoaringBitmap();
+
+    private final Map<Long, RoaringBitmap> genres = new HashMap<>();
+
+    private final Map<Long, RoaringBitmap> authors = new HashMap<>();
+
+    // Names aren't unique, a query resolves a name to the ids carrying it
+    private final Map<String, Set<Long>> genreIds = new HashMap<>();
+
+    private final Map<String, Set<Long>> authorIds = new HashMap<>();
+
+    private final Map<Long, String> genreNames = new HashMap<>();
+
+    private final Map<Long, Integer> genreOrdinals = new HashMap<>();
+
+    // Genre ordinals of every book, indexed by book id
+    private int[][] bookGenres = new int[1024][];
+
+    public void add(long bookId, Author author, Collection<Genre> bookGenres) {
+        int id = Math.toIntExact(bookId);
+        lock.writeLock().lock();
+        try {
+            books.add(id);
+            deleted.remove(id);
+            authorBooks(author).add(id);
+            for (var genre : bookGenres) {
+                genreBooks(genre).add(id);
+                linkGenre(id, genreOrdinals.get(genre.getId()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Authors and genres without books yet, so a query on them finds nothing instead of failing
+    public void addNames(Collection<Author> allAuthors, Collection<Genre> allGenres) {
+        lock.writeLock().lock();
+        try {
+            allAuthors.forEach(this::authorBooks);
+            allGenres.forEach(this::genreBooks);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long bookId, long authorId, Collection<Long> bookGenreIds) {
+        int id = Math.toIntExact(bookId);
+        lock.writeLock().lock();
+        try {
+            books.remove(id);
+            var authorBooks = authors.get(authorId);
+            if (authorBooks != null) {
+                authorBooks.remove(id);
+            }
+            for (var genreId : bookGenreIds) {
+                var genreBooks = genres.get(genreId);
+                if (genreBooks != null) {
+                    genreBooks.remove(id);
+                    unlinkGenre(id, genreOrdinals.get(genreId));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void delete(long bookId) {
+        lock.writeLock().lock();
+        try {
+            int id = Math.toIntExact(bookId);
+            books.remove(id);
+            deleted.add(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Switches dense containers to run-length encoding where it is smaller, worth doing after a bulk build
+    public void optimize() {
+        lock.writeLock().lock();
+        try {
+            books.runOptimize();
+            genres.values().forEach(RoaringBitmap::runOptimize);
+            authors.values().forEach(RoaringBitmap::runOptimize);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return books.getLongCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Terms are genre or author names, quoted when they contain spaces and prefixed with genre: or author:
+    // when a genre and an author share the name. A name several genres or authors share is rejected, genre:#3
+    // and author:#3 pick one by id. NOT binds tighter than AND, AND tighter than OR, "A NOT B" means A AND NOT B
+    public RoaringBitmap select(String expression) {
+        List<String> tokens = new ArrayList<>();
+        Matcher matcher = TOKEN.matcher(expression);
+        while (matcher.find()) {
+            tokens.add(matcher.group());
+        }
+        if (tokens.isEmpty()) {
+            throw new IllegalArgumentException("Empty book query");
+        }
+        lock.readLock().lock();
+        try {
+            var parser = new Parser(tokens);
+            var selection = parser.expression();
+            if (parser.position < tokens.size()) {
+                throw new IllegalArgumentException(
+                        "Unexpected '%s' in book query".formatted(tokens.get(parser.position)));
+            }
+            return RoaringBitmap.andNot(selection, deleted);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // A narrow selection is cheaper to walk than to intersect with every genre
+    public Map<String, Long> genreFacets(RoaringBitmap selection) {
+        lock.readLock().lock();
+        try {
+            long[] counts = null;
+            if (selection.getLongCardinality() * FACET_SCAN_RATIO < books.getLongCardinality()) {
+                long[] scanned = new long[genreOrdinals.size()];
+                selection.forEach((int id) -> {
+                    for (int ordinal : genresOf(id)) {
+                        scanned[ordinal]++;
+                    }
+                });
+                counts = scanned;
+            }
+            // Keyed by genre name, or by name and id as in "Novel #3" when several genres share the name
+            Map<String, Long> facets = new TreeMap<>();
+            for (var genre : genres.entrySet()) {
+                long count = counts != null ? counts[genreOrdinals.get(genre.getKey())]
+                        : RoaringBitmap.andCardinality(selection, genre.getValue());
+                if (count > 0) {
+                    String name = genreNames.get(genre.getKey());
+                    facets.put(genreIds.get(name).size() > 1 ? "%s #%d".formatted(name, genre.getKey()) : name,
+                            count);
+                }
+            }
+            return facets;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static List<Long> page(RoaringBitmap selection, long afterId, int limit) {
+        List<Long> ids = new ArrayList<>(limit);
+        PeekableIntIterator iterator = selection.getIntIterator();
+        if (afterId >= Integer.MAX_VALUE) {
+            return ids;
+        }
+        iterator.advanceIfNeeded((int) Math.max(afterId + 1, 0));
+        while (iterator.hasNext() && ids.size() < limit) {
+            ids.add((long) iterator.next());
+        }
+        return ids;
+    }
+
+    private RoaringBitmap authorBooks(Author author) {
+        authorIds.computeIfAbsent(author.getFullName(), name -> new TreeSet<>()).add(author.getId());
+        return authors.computeIfAbsent(author.getId(), authorId -> new RoaringBitmap());
+    }
+
+    private RoaringBitmap genreBooks(Genre genre) {
+        genreIds.computeIfAbsent(genre.getName(), name -> new TreeSet<>()).add(genre.getId());
+        genreNames.put(genre.getId(), genre.getName());
+        genreOrdinals.computeIfAbsent(genre.getId(), genreId -> genreOrdinals.size());
+        return genres.computeIfAbsent(genre.getId(), genreId -> new RoaringBitmap());
+    }
+
+    private int[] genresOf(int id) {
+        int[] ordinals = id < bookGenres.length ? bookGenres[id] : null;
+        return ordinals != null ? ordinals : NO_GENRES;
+    }
+
+    private void linkGenre(int id, int ordinal) {
+        if (id >= bookGenres.length) {
+            bookGenres = Arrays.copyOf(bookGenres, Math.max(id + 1, bookGenres.length * 2));
+        }
+        int[] ordinals = genresOf(id);
+        for (int linked : ordinals) {
+            if (linked == ordinal) {
+                return;
+            }
+        }
+        ordinals = Arrays.copyOf(ordinals, ordinals.length + 1);
+        ordinals[ordinals.length - 1] = ordinal;
+        bookGenres[id] = ordinals;
+    }
+
+    private void unlinkGenre(int id, int ordinal) {
+        int[] ordinals = genresOf(id);
+        for (int i = 0; i < ordinals.length; i++) {
+            if (ordinals[i] == ordinal) {
+                int[] rest = new int[ordinals.length - 1];
+                System.arraycopy(ordinals, 0, rest, 0, i);
+                System.arraycopy(ordinals, i + 1, rest, i, rest.length - i);
+                bookGenres[id] = rest;
+                return;
+            }
+        }
+    }
+
+    private final class Parser {
+
+        private final List<String> tokens;
+
+        private int position;
+
+        private Parser(List<String> tokens) {
+            this.tokens = tokens;
+        }
+
+        private RoaringBitmap expression() {
+            var selection = conjunction();
+            while (accept("OR")) {
+                selection = RoaringBitmap.or(selection, conjunction());
+            }
+            return selection;
+        }
+
+        private RoaringBitmap conjunction() {
+            var selection = unary();
+            while (position < tokens.size()) {
+                if (accept("NOT")) {
+                    selection = RoaringBitmap.andNot(selection, unary());
+                } else if (accept("AND") || startsOperand()) {
+                    selection = RoaringBitmap.and(selection, unary());
+                } else {
+                    break;
+                }
+            }
+            return selection;
+        }
+
+        private RoaringBitmap unary() {
+            if (accept("NOT")) {
+                return RoaringBitmap.andNot(books, unary());
+            }
+            if (accept("(")) {
+                var selection = expression();
+                if (!accept(")")) {
+                    throw new IllegalArgumentException("Missing ')' in book query");
+                }
+                return selection;
+            }
+            if (!startsOperand()) {
+                throw new IllegalArgumentException("Genre or author expected in book query");
+            }
+            return term(tokens.get(position++));
+        }
+
+        private RoaringBitmap term(String token) {
+            if (token.startsWith("genre:#")) {
+                return identified(genres, token.substring("genre:#".length()), "genre");
+            }
+            if (token.startsWith("author:#")) {
+                return identified(authors, token.substring("author:#".length()), "author");
+            }
+            if (token.startsWith("genre:")) {
+                return named(genres, genreIds, unquote(token.substring("genre:".length())), "genre", "genre");
+            }
+            if (token.startsWith("author:")) {
+                return named(authors, authorIds, unquote(token.substring("author:".length())), "author", "author");
+            }
+            String name = unquote(token);
+            return genreIds.containsKey(name) ? named(genres, genreIds, name, "genre", "genre")
+                    : named(authors, authorIds, name, "genre or author", "author");
+        }
+
+        private RoaringBitmap named(Map<Long, RoaringBitmap> bitmaps, Map<String, Set<Long>> idsByName, String name,
+                                    String kind, String prefix) {
+            var ids = idsByName.get(name);
+            if (ids == null) {
+                throw new EntityNotFoundException("No %s named %s".formatted(kind, name));
+            }
+            if (ids.size() > 1) {
+                throw new IllegalArgumentException("%s is ambiguous in book query, use one of %s".formatted(name,
+                        ids.stream().map(id -> prefix + ":#" + id).collect(Collectors.joining(", "))));
+            }
+            return bitmaps.get(ids.iterator().next());
+        }
+
+        private RoaringBitmap identified(Map<Long, RoaringBitmap> bitmaps, String id, String kind) {
+            RoaringBitmap identified;
+            try {
+                identified = bitmaps.get(Long.parseLong(id));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Bad %s id '%s' in book query".formatted(kind, id));
+            }
+            if (identified == null) {
+                throw new EntityNotFoundException("No %s with id %s".formatted(kind, id));
+            }
+            return identified;
+        }
+
+        private boolean startsOperand() {
+            if (position >= tokens.size()) {
+                return false;
+            }
+            String token = tokens.get(position);
+            return !token.equals(")") && !isKeyword(token, "AND") && !isKeyword(token, "OR")
+                    && !isKeyword(token, "NOT");
+        }
+
+        private boolean accept(String expected) {
+            if (position < tokens.size() && (tokens.get(position).equals(expected)
+                    || isKeyword(tokens.get(position), expected))) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private static boolean isKeyword(String token, String keyword) {
+            return token.toUpperCase(Locale.ROOT).equals(keyword);
+        }
+
+        private static String unquote(String token) {
+            return token.length() >= 2 && token.startsWith("\"") && token.endsWith("\"")
+                    ? token.substring(1, token.length() - 1) : token;
+        }
+    }
+}
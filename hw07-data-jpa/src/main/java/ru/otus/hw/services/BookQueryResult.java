@@ -0,0 +1,9 @@
+package ru.otus.hw.services;
+
+import ru.otus.hw.models.Book;
+
+import java.util.List;
+import java.util.Map;
+
+public record BookQueryResult(long total, List<Book> books, Map<String, Long> genreFacets) {
+}
@@ -0,0 +1,17 @@
+package ru.otus.hw.services;
+
+import ru.otus.hw.models.Book;
+
+import java.util.Collection;
+
+public interface BookQueryService {
+    BookQueryResult query(String expression, long afterId, int limit);
+
+    void rebuild();
+
+    void indexBook(Book book);
+
+    void unindexBook(Book book);
+
+    void removeBooks(Collection<Long> ids);
+}
@@ -0,0 +1,115 @@
+package ru.otus.hw.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.otus.hw.models.Author;
+import ru.otus.hw.models.Book;
+import ru.otus.hw.models.Genre;
+import ru.otus.hw.repositories.AuthorRepository;
+import ru.otus.hw.repositories.BookRepository;
+import ru.otus.hw.repositories.GenreRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Bitmaps answer the filter and the facet counts, only the requested page of books is loaded
+@RequiredArgsConstructor
+@Service
+public class BookQueryServiceImpl implements BookQueryService, SmartInitializingSingleton {
+    private final AuthorRepository authorRepository;
+
+    private final GenreRepository genreRepository;
+
+    private final BookRepository bookRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile BookBitmapIndex index = new BookBitmapIndex();
+
+    private final Object changeLock = new Object();
+
+    // Changes committed while a rebuild reads the tables, null when no rebuild is running
+    private List<Consumer<BookBitmapIndex>> pendingChanges;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookQueryResult query(String expression, long afterId, int limit) {
+        var currentIndex = index;
+        var selection = currentIndex.select(expression);
+        var books = bookRepository.findByIdIn(BookBitmapIndex.page(selection, afterId, limit));
+        books.forEach(b -> b.getGenres().size());
+        books.sort(Comparator.comparingLong(Book::getId));
+        return new BookQueryResult(selection.getLongCardinality(), books, currentIndex.genreFacets(selection));
+    }
+
+    // A change committed while the links are streamed may be missed by them, so it is replayed on the new index
+    @Override
+    public synchronized void rebuild() {
+        var rebuilt = new BookBitmapIndex();
+        synchronized (changeLock) {
+            pendingChanges = new ArrayList<>();
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                rebuilt.addNames(authorRepository.findAllUncached(), genreRepository.findAllUncached());
+                try (var links = bookRepository.streamLinks()) {
+                    links.forEach(link -> rebuilt.add(link.bookId(), new Author(link.authorId(), link.authorFullName()),
+                            link.genreId() == null ? List.of() : List.of(new Genre(link.genreId(), link.genreName()))));
+                }
+            });
+            rebuilt.optimize();
+            synchronized (changeLock) {
+                pendingChanges.forEach(change -> change.accept(rebuilt));
+                index = rebuilt;
+            }
+        } finally {
+            synchronized (changeLock) {
+                pendingChanges = null;
+            }
+        }
+    }
+
+    // Copies of the author and genres, entities can't be read once their session is closed
+    @Override
+    public void indexBook(Book book) {
+        long id = book.getId();
+        var author = new Author(book.getAuthor().getId(), book.getAuthor().getFullName());
+        var genres = book.getGenres().stream().map(genre -> new Genre(genre.getId(), genre.getName())).toList();
+        AfterCommit.run(() -> change(target -> target.add(id, author, genres)));
+    }
+
+    // Takes the genres and author the book has now, so it is called before they are changed
+    @Override
+    public void unindexBook(Book book) {
+        long id = book.getId();
+        long authorId = book.getAuthor().getId();
+        var genreIds = book.getGenres().stream().map(Genre::getId).toList();
+        AfterCommit.run(() -> change(target -> target.remove(id, authorId, genreIds)));
+    }
+
+    @Override
+    public void removeBooks(Collection<Long> ids) {
+        List<Long> bookIds = List.copyOf(ids);
+        AfterCommit.run(() -> change(target -> bookIds.forEach(target::delete)));
+    }
+
+    private void change(Consumer<BookBitmapIndex> change) {
+        synchronized (changeLock) {
+            change.accept(index);
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        }
+    }
+}
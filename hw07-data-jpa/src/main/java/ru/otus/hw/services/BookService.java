@@ -1,7 +1,9 @@
 package ru.otus.hw.services;
 
+import ru.otus.hw.dto.BookSummaryDto;
 import ru.otus.hw.models.Book;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -11,9 +13,17 @@ public interface BookService {
 
     List<Book> findAll();
 
+    List<Book> findPageAfter(long lastId, int limit);
+
+    List<BookSummaryDto> findAllSummaries();
+
+    List<BookSummaryDto> findSummariesPageAfter(long lastId, int limit);
+
     Book insert(String title, long authorId, Set<Long> genresIds);
 
     Book update(long id, String title, long authorId, Set<Long> genresIds);
 
     void deleteById(long id);
+
+    int deleteAllByIds(Collection<Long> ids);
 }
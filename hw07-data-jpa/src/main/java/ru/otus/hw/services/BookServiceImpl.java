@@ -1,14 +1,17 @@
 package ru.otus.hw.services;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.otus.hw.dto.BookSummaryDto;
 import ru.otus.hw.exceptions.EntityNotFoundException;
 import ru.otus.hw.models.Book;
 import ru.otus.hw.repositories.AuthorRepository;
 import ru.otus.hw.repositories.BookRepository;
 import ru.otus.hw.repositories.GenreRepository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -24,6 +27,10 @@ public class BookServiceImpl implements BookService {
 
     private final BookRepository bookRepository;
 
+    private final TextSearchService textSearchService;
+
+    private final BookQueryService bookQueryService;
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Book> findById(long id) {
@@ -38,6 +45,32 @@ public class BookServiceImpl implements BookService {
         return books;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Book> findPageAfter(long lastId, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page limit must be positive");
+        }
+        var books = bookRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(limit));
+        books.forEach(b -> b.getGenres().size());
+        return books;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookSummaryDto> findAllSummaries() {
+        return bookRepository.findAllSummaries();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookSummaryDto> findSummariesPageAfter(long lastId, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page limit must be positive");
+        }
+        return bookRepository.findSummariesAfter(lastId, Limit.of(limit));
+    }
+
     @Override
     @Transactional
     public Book insert(String title, long authorId, Set<Long> genresIds) {
@@ -52,8 +85,10 @@ public class BookServiceImpl implements BookService {
             throw new EntityNotFoundException("One or all genres with ids %s not found".formatted(genresIds));
         }
 
-        var book = new Book(0, title, author, genres);
-        return bookRepository.save(book);
+        var book = bookRepository.save(new Book(0, title, author, genres));
+        textSearchService.indexBook(book);
+        bookQueryService.indexBook(book);
+        return book;
     }
 
     @Override
@@ -73,15 +108,29 @@ public class BookServiceImpl implements BookService {
             throw new EntityNotFoundException("One or all genres with ids %s not found".formatted(genresIds));
         }
 
+        bookQueryService.unindexBook(book);
         book.setTitle(title);
         book.setAuthor(author);
         book.setGenres(genres);
-        return bookRepository.save(book);
+        var saved = bookRepository.save(book);
+        textSearchService.indexBook(saved);
+        bookQueryService.indexBook(saved);
+        return saved;
     }
 
     @Override
     @Transactional
     public void deleteById(long id) {
+        textSearchService.removeBooks(List.of(id));
+        bookQueryService.removeBooks(List.of(id));
         bookRepository.deleteById(id);
     }
+
+    @Override
+    @Transactional
+    public int deleteAllByIds(Collection<Long> ids) {
+        textSearchService.removeBooks(ids);
+        bookQueryService.removeBooks(ids);
+        return bookRepository.deleteAllByIds(ids);
+    }
 }
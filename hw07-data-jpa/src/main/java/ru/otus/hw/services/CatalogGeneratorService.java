@@ -0,0 +1,5 @@
+package ru.otus.hw.services;
+
+public interface CatalogGeneratorService {
+    GenerationResult generate(CatalogGenerationSettings settings);
+}
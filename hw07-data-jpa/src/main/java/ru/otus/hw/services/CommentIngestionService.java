@@ -0,0 +1,13 @@
+package ru.otus.hw.services;
+
+import ru.otus.hw.models.Comment;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface CommentIngestionService {
+    CompletableFuture<Comment> enqueue(String text, long bookId);
+
+    void flush();
+
+    CommentIngestionStatistics statistics();
+}
@@ -0,0 +1,227 @@
+package ru.otus.hw.services;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.otus.hw.config.CommentIngestionProperties;
+import ru.otus.hw.config.CommentIngestionProperties.Backpressure;
+import ru.otus.hw.exceptions.CommentIngestionRejectedException;
+import ru.otus.hw.exceptions.EntityNotFoundException;
+import ru.otus.hw.models.Comment;
+import ru.otus.hw.repositories.BookRepository;
+import ru.otus.hw.repositories.CommentRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+// Comments are queued by callers and written by a single flusher thread, one transaction per batch
+@Service
+public class CommentIngestionServiceImpl implements CommentIngestionService, DisposableBean {
+
+    private final CommentIngestionProperties properties;
+
+    private final CommentRepository commentRepository;
+
+    private final BookRepository bookRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final TextSearchService textSearchService;
+
+    private final BlockingQueue<PendingComment> queue;
+
+    private final ScheduledExecutorService flusher;
+
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    // Enqueues hold the read lock, so once destroy() has taken the write lock no comment can slip in after it
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+
+    private boolean closed;
+
+    private final LongAdder enqueued = new LongAdder();
+
+    private final LongAdder written = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    private final LongAdder flushErrors = new LongAdder();
+
+    private final LongAdder batches = new LongAdder();
+
+    private final LongAdder flushLatencyNanos = new LongAdder();
+
+    private final LongAccumulator maxFlushLatencyNanos = new LongAccumulator(Math::max, 0);
+
+    private final LongAdder batchNanos = new LongAdder();
+
+    public CommentIngestionServiceImpl(CommentIngestionProperties properties, CommentRepository commentRepository,
+                                       BookRepository bookRepository, TransactionTemplate transactionTemplate,
+                                       TextSearchService textSearchService) {
+        this.properties = properties;
+        this.commentRepository = commentRepository;
+        this.bookRepository = bookRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.textSearchService = textSearchService;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            var thread = new Thread(r, "comment-ingestion-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long delay = properties.getMaxDelay().toMillis();
+        flusher.scheduleWithFixedDelay(this::flushQueued, delay, delay, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public CompletableFuture<Comment> enqueue(String text, long bookId) {
+        closeLock.readLock().lock();
+        try {
+            if (closed) {
+                throw new CommentIngestionRejectedException("Comment ingestion is stopped");
+            }
+            var pending = new PendingComment(text, bookId, System.nanoTime(), new CompletableFuture<>());
+            if (!offer(pending)) {
+                rejected.increment();
+                throw new CommentIngestionRejectedException(
+                        "Comment queue is full, %d comments are waiting".formatted(queue.size()));
+            }
+            enqueued.increment();
+            if (queue.size() >= properties.getBatchSize() && flushRequested.compareAndSet(false, true)) {
+                flusher.execute(this::flushQueued);
+            }
+            return pending.result();
+        } finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void flush() {
+        try {
+            flusher.submit(this::flushQueued).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while flushing comments", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Comments flush failed", e.getCause());
+        }
+    }
+
+    @Override
+    public CommentIngestionStatistics statistics() {
+        long batchCount = batches.sum();
+        long writtenCount = written.sum();
+        return new CommentIngestionStatistics(enqueued.sum(), writtenCount, rejected.sum(), failed.sum(),
+                flushErrors.sum(), batchCount, queue.size(),
+                writtenCount == 0 ? 0 : flushLatencyNanos.sum() / 1e6 / writtenCount,
+                TimeUnit.NANOSECONDS.toMillis(maxFlushLatencyNanos.get()),
+                batchCount == 0 ? 0 : batchNanos.sum() / 1e6 / batchCount);
+    }
+
+    // Whatever is still queued on shutdown is written before the flusher stops
+    @Override
+    public void destroy() {
+        closeLock.writeLock().lock();
+        try {
+            closed = true;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        flush();
+        flusher.shutdown();
+    }
+
+    private boolean offer(PendingComment pending) {
+        if (properties.getBackpressure() == Backpressure.REJECT) {
+            return queue.offer(pending);
+        }
+        try {
+            return queue.offer(pending, properties.getOfferTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // An exception escaping a scheduled run would silently cancel all further runs, so it is counted instead
+    private void flushQueued() {
+        flushRequested.set(false);
+        List<PendingComment> batch = new ArrayList<>(properties.getBatchSize());
+        while (queue.drainTo(batch, properties.getBatchSize()) > 0) {
+            try {
+                writeBatch(batch);
+            } catch (RuntimeException e) {
+                flushErrors.increment();
+                batch.forEach(pending -> pending.result().completeExceptionally(e));
+            }
+            batch.clear();
+        }
+    }
+
+    private void writeBatch(List<PendingComment> batch) {
+        long start = System.nanoTime();
+        List<PendingComment> accepted = new ArrayList<>(batch.size());
+        List<Comment> saved;
+        try {
+            saved = transactionTemplate.execute(status -> saveExisting(batch, accepted));
+        } catch (RuntimeException e) {
+            failed.add(batch.size());
+            batch.forEach(pending -> pending.result().completeExceptionally(e));
+            return;
+        }
+        long committed = System.nanoTime();
+        batches.increment();
+        batchNanos.add(committed - start);
+        for (int i = 0; i < accepted.size(); i++) {
+            long latency = committed - accepted.get(i).enqueuedAt();
+            flushLatencyNanos.add(latency);
+            maxFlushLatencyNanos.accumulate(latency);
+            accepted.get(i).result().complete(saved.get(i));
+        }
+        written.add(accepted.size());
+        for (var pending : batch) {
+            if (!pending.result().isDone()) {
+                failed.increment();
+                pending.result().completeExceptionally(
+                        new EntityNotFoundException("Book with id %d not found".formatted(pending.bookId())));
+            }
+        }
+        textSearchService.indexComments(saved);
+    }
+
+    // One query checks every book of the batch, comments get lazy references instead of loaded books
+    private List<Comment> saveExisting(List<PendingComment> batch, List<PendingComment> accepted) {
+        Set<Long> bookIds = bookRepository.findIdsByIdIn(
+                batch.stream().map(PendingComment::bookId).collect(Collectors.toSet()));
+        List<Comment> comments = new ArrayList<>(batch.size());
+        for (var pending : batch) {
+            if (bookIds.contains(pending.bookId())) {
+                accepted.add(pending);
+                comments.add(new Comment(0, pending.text(), bookRepository.getReferenceById(pending.bookId())));
+            }
+        }
+        List<Comment> saved = new ArrayList<>(comments.size());
+        commentRepository.saveAll(comments).forEach(saved::add);
+        return saved;
+    }
+
+    private record PendingComment(String text, long bookId, long enqueuedAt, CompletableFuture<Comment> result) {
+    }
+}
@@ -0,0 +1,6 @@
+package ru.otus.hw.services;
+
+public record CommentIngestionStatistics(long enqueued, long written, long rejected, long failed, long flushErrors,
+                                         long batches, int queued, double averageFlushLatencyMillis,
+                                         long maxFlushLatencyMillis, double averageBatchMillis) {
+}
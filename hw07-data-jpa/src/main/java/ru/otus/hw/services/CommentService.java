@@ -2,6 +2,7 @@ package ru.otus.hw.services;
 
 import ru.otus.hw.models.Comment;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,9 +11,15 @@ public interface CommentService {
 
     List<Comment> findAllByBookId(long bookId);
 
+    List<Comment> findPageByBookId(long bookId, long lastId, int limit);
+
+    long countByBookId(long bookId);
+
     Comment insert(String text, long bookId);
 
     Comment update(long id, String text);
 
     void deleteById(long id);
+
+    int deleteAllByBookIds(Collection<Long> bookIds);
 }
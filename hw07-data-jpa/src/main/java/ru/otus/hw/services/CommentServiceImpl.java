@@ -1,6 +1,7 @@
 package ru.otus.hw.services;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.otus.hw.exceptions.EntityNotFoundException;
@@ -8,6 +9,7 @@ import ru.otus.hw.models.Comment;
 import ru.otus.hw.repositories.BookRepository;
 import ru.otus.hw.repositories.CommentRepository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +21,8 @@ public class CommentServiceImpl implements CommentService {
 
     private final BookRepository bookRepository;
 
+    private final TextSearchService textSearchService;
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Comment> findById(long id) {
@@ -31,14 +35,32 @@ public class CommentServiceImpl implements CommentService {
         return commentRepository.findByBookId(bookId);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Comment> findPageByBookId(long bookId, long lastId, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page limit must be positive");
+        }
+        return commentRepository.findByBookIdAndIdGreaterThanOrderByIdAsc(bookId, lastId, Limit.of(limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countByBookId(long bookId) {
+        return commentRepository.countByBookId(bookId);
+    }
+
     @Override
     @Transactional
     public Comment insert(String text, long bookId) {
-        var book = bookRepository.findById(bookId)
-                .orElseThrow(() -> new EntityNotFoundException("Author with id %d not found".formatted(bookId)));
+        // the comment only needs the book key, loading the book with its genres and author is wasted work
+        if (!bookRepository.existsById(bookId)) {
+            throw new EntityNotFoundException("Book with id %d not found".formatted(bookId));
+        }
 
-        var comment = new Comment(0, text, book);
-        return commentRepository.save(comment);
+        var comment = commentRepository.save(new Comment(0, text, bookRepository.getReferenceById(bookId)));
+        textSearchService.indexComments(List.of(comment));
+        return comment;
     }
 
     @Override
@@ -48,12 +70,22 @@ public class CommentServiceImpl implements CommentService {
                 .orElseThrow(() -> new EntityNotFoundException("Comment with id %d not found".formatted(id)));
 
         comment.setText(text);
-        return commentRepository.save(comment);
+        var saved = commentRepository.save(comment);
+        textSearchService.indexComments(List.of(saved));
+        return saved;
     }
 
     @Override
     @Transactional
     public void deleteById(long id) {
         commentRepository.deleteById(id);
+        textSearchService.removeComments(List.of(id));
+    }
+
+    @Override
+    @Transactional
+    public int deleteAllByBookIds(Collection<Long> bookIds) {
+        textSearchService.removeCommentsOfBooks(bookIds);
+        return commentRepository.deleteAllByBookIds(bookIds);
     }
 }
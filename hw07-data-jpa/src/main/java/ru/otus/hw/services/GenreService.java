@@ -6,4 +6,6 @@ import java.util.List;
 
 public interface GenreService {
     List<Genre> findAll();
+
+    List<Genre> findPageAfter(long lastId, int limit);
 }
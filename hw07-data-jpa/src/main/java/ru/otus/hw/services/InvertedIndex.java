@@ -0,0 +1,402 @@
+package ru.otus.hw.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Term postings are kept sorted by document id, all query terms must match and hits are ranked with BM25
+public class InvertedIndex {
+
+    private static final double K1 = 1.2;
+
+    private static final double B = 0.75;
+
+    // a short prefix matches a lot of terms, only the first ones in term order are used
+    private static final int MAX_PREFIX_TERMS = 256;
+
+    private static final Comparator<SearchHit> BY_RANK = Comparator.comparingDouble(SearchHit::score).reversed()
+            .thenComparingLong(SearchHit::id);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final NavigableMap<String, Postings> postings = new TreeMap<>();
+
+    private final Map<Long, Document> documents = new HashMap<>();
+
+    private long totalLength;
+
+    public void put(long id, String text) {
+        var tokens = tokenize(text);
+        Map<String, Integer> frequencies = new HashMap<>();
+        tokens.forEach(token -> frequencies.merge(token, 1, Integer::sum));
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+            String[] terms = new String[frequencies.size()];
+            int i = 0;
+            for (var frequency : frequencies.entrySet()) {
+                var termPostings = postings.computeIfAbsent(frequency.getKey(), Postings::new);
+                termPostings.put(id, frequency.getValue(), tokens.size());
+                terms[i++] = termPostings.term;
+            }
+            documents.put(id, new Document(terms, tokens.size()));
+            totalLength += tokens.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Words ending with * match every term starting with them, other words match whole terms
+    public List<SearchHit> search(String query, int limit) {
+        var clauses = parse(query);
+        if (clauses.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            List<List<Postings>> expanded = new ArrayList<>(clauses.size());
+            for (var clause : clauses) {
+                var clausePostings = expand(clause);
+                if (clausePostings.isEmpty()) {
+                    return List.of();
+                }
+                expanded.add(clausePostings);
+            }
+            // the rarest clause picks the candidates, the others are only looked up for them
+            expanded.sort(Comparator.comparingLong(InvertedIndex::postingsCount));
+            double averageLength = (double) totalLength / documents.size();
+            Candidates candidates = null;
+            for (var clausePostings : expanded) {
+                candidates = candidates == null ? union(clausePostings, averageLength)
+                        : intersect(candidates, clausePostings, averageLength);
+                if (candidates.size == 0) {
+                    return List.of();
+                }
+            }
+            return candidates.top(limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeDocument(long id) {
+        var document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        totalLength -= document.length();
+        for (String term : document.terms()) {
+            var termPostings = postings.get(term);
+            termPostings.remove(id);
+            if (termPostings.size == 0) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private List<Postings> expand(Clause clause) {
+        if (!clause.prefix()) {
+            var termPostings = postings.get(clause.term());
+            return termPostings == null ? List.of() : List.of(termPostings);
+        }
+        return postings.subMap(clause.term(), true, clause.term() + Character.MAX_VALUE, false).values().stream()
+                .limit(MAX_PREFIX_TERMS).toList();
+    }
+
+    // Postings of the prefix terms are concatenated and radix sorted by id, merging many short lists would
+    // mispredict a branch on almost every step. A document matching several of the terms sums their scores
+    private Candidates union(List<Postings> clausePostings, double averageLength) {
+        var candidates = new Candidates((int) postingsCount(clausePostings));
+        long maxId = 0;
+        for (var termPostings : clausePostings) {
+            double idf = idf(termPostings.size);
+            for (int i = 0; i < termPostings.size; i++) {
+                candidates.add(termPostings.ids[i],
+                        termScore(idf, termPostings.frequencies[i], termPostings.lengths[i], averageLength));
+            }
+            maxId = Math.max(maxId, termPostings.ids[termPostings.size - 1]);
+        }
+        if (clausePostings.size() > 1) {
+            candidates.sortById(maxId);
+            candidates.sumDuplicates();
+        }
+        return candidates;
+    }
+
+    // Both sides are sorted by id, the shorter one is walked and looked up in the longer one
+    private Candidates intersect(Candidates candidates, List<Postings> clausePostings, double averageLength) {
+        double[] clauseScores = new double[candidates.size];
+        boolean[] matched = new boolean[candidates.size];
+        for (var termPostings : clausePostings) {
+            double idf = idf(termPostings.size);
+            if (termPostings.size <= candidates.size) {
+                int from = 0;
+                for (int i = 0; i < termPostings.size && from < candidates.size; i++) {
+                    int at = gallop(candidates.ids, from, candidates.size, termPostings.ids[i]);
+                    if (at >= 0) {
+                        clauseScores[at] += termScore(idf, termPostings.frequencies[i], termPostings.lengths[i],
+                                averageLength);
+                        matched[at] = true;
+                        from = at + 1;
+                    } else {
+                        from = -at - 1;
+                    }
+                }
+            } else {
+                int from = 0;
+                for (int c = 0; c < candidates.size && from < termPostings.size; c++) {
+                    int at = gallop(termPostings.ids, from, termPostings.size, candidates.ids[c]);
+                    if (at >= 0) {
+                        clauseScores[c] += termScore(idf, termPostings.frequencies[at], termPostings.lengths[at],
+                                averageLength);
+                        matched[c] = true;
+                        from = at + 1;
+                    } else {
+                        from = -at - 1;
+                    }
+                }
+            }
+        }
+        var matching = new Candidates(candidates.size);
+        for (int c = 0; c < candidates.size; c++) {
+            if (matched[c]) {
+                matching.add(candidates.ids[c], candidates.scores[c] + clauseScores[c]);
+            }
+        }
+        return matching;
+    }
+
+    // Looked up ids grow, so the search steps forward from the previous match before bisecting
+    private static int gallop(long[] ids, int from, int size, long id) {
+        int step = 1;
+        while (from + step < size && ids[from + step] < id) {
+            from += step;
+            step <<= 1;
+        }
+        return Arrays.binarySearch(ids, from, Math.min(from + step + 1, size), id);
+    }
+
+    private double idf(int documentFrequency) {
+        return Math.log(1 + (documents.size() - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private static double termScore(double idf, int frequency, int length, double averageLength) {
+        double lengthRatio = averageLength == 0 ? 1 : length / averageLength;
+        return idf * frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * lengthRatio));
+    }
+
+    private static long postingsCount(List<Postings> clausePostings) {
+        return clausePostings.stream().mapToLong(p -> p.size).sum();
+    }
+
+    private static List<Clause> parse(String query) {
+        List<Clause> clauses = new ArrayList<>();
+        for (String word : query.strip().split("\\s+")) {
+            var tokens = tokenize(word);
+            for (int i = 0; i < tokens.size(); i++) {
+                clauses.add(new Clause(tokens.get(i), i == tokens.size() - 1 && word.endsWith("*")));
+            }
+        }
+        return clauses;
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lowerCase = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lowerCase.length(); i++) {
+            boolean wordChar = i < lowerCase.length() && Character.isLetterOrDigit(lowerCase.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(lowerCase.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private record Clause(String term, boolean prefix) {
+    }
+
+    private record Document(String[] terms, int length) {
+    }
+
+    // Matching documents sorted by id with their scores so far
+    private static final class Candidates {
+
+        private static final int RADIX_BITS = 11;
+
+        private static final int RADIX_MASK = (1 << RADIX_BITS) - 1;
+
+        private long[] ids;
+
+        private double[] scores;
+
+        private int size;
+
+        private Candidates(int capacity) {
+            ids = new long[capacity];
+            scores = new double[capacity];
+        }
+
+        private void add(long id, double score) {
+            ids[size] = id;
+            scores[size] = score;
+            size++;
+        }
+
+        // LSD radix sort over the significant bits of the ids, scores move together with their ids
+        private void sortById(long maxId) {
+            int bits = 64 - Long.numberOfLeadingZeros(maxId);
+            long[] targetIds = new long[size];
+            double[] targetScores = new double[size];
+            int[] offsets = new int[1 << RADIX_BITS];
+            for (int shift = 0; shift < bits; shift += RADIX_BITS) {
+                Arrays.fill(offsets, 0);
+                for (int i = 0; i < size; i++) {
+                    offsets[(int) (ids[i] >>> shift) & RADIX_MASK]++;
+                }
+                for (int digit = 0, offset = 0; digit < offsets.length; digit++) {
+                    int count = offsets[digit];
+                    offsets[digit] = offset;
+                    offset += count;
+                }
+                for (int i = 0; i < size; i++) {
+                    int position = offsets[(int) (ids[i] >>> shift) & RADIX_MASK]++;
+                    targetIds[position] = ids[i];
+                    targetScores[position] = scores[i];
+                }
+                long[] sortedIds = targetIds;
+                double[] sortedScores = targetScores;
+                targetIds = ids;
+                targetScores = scores;
+                ids = sortedIds;
+                scores = sortedScores;
+            }
+        }
+
+        private void sumDuplicates() {
+            int unique = 0;
+            for (int i = 0; i < size; i++) {
+                if (unique > 0 && ids[unique - 1] == ids[i]) {
+                    scores[unique - 1] += scores[i];
+                } else {
+                    ids[unique] = ids[i];
+                    scores[unique++] = scores[i];
+                }
+            }
+            size = unique;
+        }
+
+        private List<SearchHit> top(int limit) {
+            var heap = new PriorityQueue<>(BY_RANK.reversed());
+            for (int i = 0; i < size; i++) {
+                if (heap.size() < limit) {
+                    heap.add(new SearchHit(ids[i], scores[i]));
+                } else if (scores[i] > heap.peek().score()) {
+                    heap.poll();
+                    heap.add(new SearchHit(ids[i], scores[i]));
+                }
+            }
+            var hits = new ArrayList<>(heap);
+            hits.sort(BY_RANK);
+            return hits;
+        }
+    }
+
+    private static final class Postings {
+
+        private final String term;
+
+        private long[] ids = new long[4];
+
+        private int[] frequencies = new int[4];
+
+        // document lengths are kept next to the frequencies, scoring never looks documents up
+        private int[] lengths = new int[4];
+
+        private int size;
+
+        private Postings(String term) {
+            this.term = term;
+        }
+
+        // ids mostly arrive in increasing order, so a new posting is usually appended
+        private void put(long id, int frequency, int length) {
+            int index = size > 0 && ids[size - 1] < id ? -size - 1 : indexOf(id);
+            if (index >= 0) {
+                frequencies[index] = frequency;
+                lengths[index] = length;
+                return;
+            }
+            int insertAt = -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+                lengths = Arrays.copyOf(lengths, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            System.arraycopy(frequencies, insertAt, frequencies, insertAt + 1, size - insertAt);
+            System.arraycopy(lengths, insertAt, lengths, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            frequencies[insertAt] = frequency;
+            lengths[insertAt] = length;
+            size++;
+        }
+
+        private void remove(long id) {
+            int index = indexOf(id);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            System.arraycopy(frequencies, index + 1, frequencies, index, size - index - 1);
+            System.arraycopy(lengths, index + 1, lengths, index, size - index - 1);
+            size--;
+        }
+
+        private int indexOf(long id) {
+            return Arrays.binarySearch(ids, 0, size, id);
+        }
+    }
+}
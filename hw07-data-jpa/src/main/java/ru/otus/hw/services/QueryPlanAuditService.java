@@ -0,0 +1,10 @@
+package ru.otus.hw.services;
+
+import java.util.List;
+
+public interface QueryPlanAuditService {
+
+    boolean isEnabled();
+
+    List<QueryPlan> audit();
+}
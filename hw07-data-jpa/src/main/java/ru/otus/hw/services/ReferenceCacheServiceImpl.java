@@ -0,0 +1,39 @@
+package ru.otus.hw.services;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+@Service
+public class ReferenceCacheServiceImpl implements ReferenceCacheService {
+    private static final List<String> REGIONS = List.of("authors", "genres",
+            RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public Map<String, CacheRegionStatistics> stats() {
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, CacheRegionStatistics> stats = new LinkedHashMap<>();
+        for (String region : REGIONS) {
+            var regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics != null) {
+                stats.put(region, regionStatistics);
+            }
+        }
+        return stats;
+    }
+
+    @Override
+    public void invalidateAll() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+}
@@ -0,0 +1,4 @@
+package ru.otus.hw.services;
+
+public record SearchHit(long id, double score) {
+}
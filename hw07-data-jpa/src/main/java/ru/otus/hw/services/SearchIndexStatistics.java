@@ -0,0 +1,4 @@
+package ru.otus.hw.services;
+
+public record SearchIndexStatistics(int books, int bookTerms, int comments, int commentTerms) {
+}
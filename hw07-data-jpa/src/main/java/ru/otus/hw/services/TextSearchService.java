@@ -0,0 +1,27 @@
+package ru.otus.hw.services;
+
+import ru.otus.hw.models.Book;
+import ru.otus.hw.models.Comment;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface TextSearchService {
+    List<Book> searchBooks(String query, int limit);
+
+    List<Comment> searchComments(String query, int limit);
+
+    SearchIndexStatistics statistics();
+
+    void rebuild();
+
+    void indexBook(Book book);
+
+    void removeBooks(Collection<Long> ids);
+
+    void indexComments(Collection<Comment> comments);
+
+    void removeComments(Collection<Long> ids);
+
+    void removeCommentsOfBooks(Collection<Long> bookIds);
+}
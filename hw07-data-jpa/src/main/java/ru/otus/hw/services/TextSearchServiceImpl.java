@@ -0,0 +1,169 @@
+package ru.otus.hw.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.otus.hw.dto.IndexedTextDto;
+import ru.otus.hw.models.Book;
+import ru.otus.hw.models.Comment;
+import ru.otus.hw.repositories.BookRepository;
+import ru.otus.hw.repositories.CommentRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Indexes live in memory, they are built on startup and follow service writes once they are committed
+@RequiredArgsConstructor
+@Service
+public class TextSearchServiceImpl implements TextSearchService, SmartInitializingSingleton {
+    private final BookRepository bookRepository;
+
+    private final CommentRepository commentRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile InvertedIndex bookIndex = new InvertedIndex();
+
+    private volatile InvertedIndex commentIndex = new InvertedIndex();
+
+    private final Object changeLock = new Object();
+
+    // Changes committed while a rebuild reads the tables, null when no rebuild is running
+    private List<Consumer<InvertedIndex>> pendingBookChanges;
+
+    private List<Consumer<InvertedIndex>> pendingCommentChanges;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Book> searchBooks(String query, int limit) {
+        var hits = bookIndex.search(query, limit);
+        Map<Long, Book> books = bookRepository.findByIdIn(ids(hits)).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        List<Book> found = new ArrayList<>(hits.size());
+        for (var hit : hits) {
+            var book = books.get(hit.id());
+            if (book != null) {
+                book.getGenres().size();
+                found.add(book);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Comment> searchComments(String query, int limit) {
+        var hits = commentIndex.search(query, limit);
+        Map<Long, Comment> comments = new HashMap<>();
+        commentRepository.findAllById(ids(hits)).forEach(comment -> comments.put(comment.getId(), comment));
+        return hits.stream().map(hit -> comments.get(hit.id())).filter(Objects::nonNull).toList();
+    }
+
+    @Override
+    public SearchIndexStatistics statistics() {
+        var books = bookIndex;
+        var comments = commentIndex;
+        return new SearchIndexStatistics(books.size(), books.termCount(), comments.size(), comments.termCount());
+    }
+
+    // New indexes are filled from streamed projections and replace the old ones when complete. A change committed
+    // meanwhile may be missed by the streams, so it is replayed on the new indexes before they replace the old ones
+    @Override
+    public synchronized void rebuild() {
+        var books = new InvertedIndex();
+        var comments = new InvertedIndex();
+        synchronized (changeLock) {
+            pendingBookChanges = new ArrayList<>();
+            pendingCommentChanges = new ArrayList<>();
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (var titles = bookRepository.streamTitles()) {
+                    titles.forEach(title -> books.put(title.id(), title.text()));
+                }
+                try (var texts = commentRepository.streamTexts()) {
+                    texts.forEach(text -> comments.put(text.id(), text.text()));
+                }
+            });
+            synchronized (changeLock) {
+                pendingBookChanges.forEach(change -> change.accept(books));
+                pendingCommentChanges.forEach(change -> change.accept(comments));
+                bookIndex = books;
+                commentIndex = comments;
+            }
+        } finally {
+            synchronized (changeLock) {
+                pendingBookChanges = null;
+                pendingCommentChanges = null;
+            }
+        }
+    }
+
+    @Override
+    public void indexBook(Book book) {
+        long id = book.getId();
+        String title = book.getTitle();
+        AfterCommit.run(() -> changeBooks(index -> index.put(id, title)));
+    }
+
+    // Comments of the books are looked up here, so it must be called before the books are deleted
+    @Override
+    public void removeBooks(Collection<Long> ids) {
+        removeCommentsOfBooks(ids);
+        List<Long> bookIds = List.copyOf(ids);
+        AfterCommit.run(() -> changeBooks(index -> bookIds.forEach(index::remove)));
+    }
+
+    @Override
+    public void indexComments(Collection<Comment> comments) {
+        var texts = comments.stream().map(c -> new IndexedTextDto(c.getId(), c.getText())).toList();
+        AfterCommit.run(() -> changeComments(index -> texts.forEach(text -> index.put(text.id(), text.text()))));
+    }
+
+    @Override
+    public void removeComments(Collection<Long> ids) {
+        List<Long> commentIds = List.copyOf(ids);
+        AfterCommit.run(() -> changeComments(index -> commentIds.forEach(index::remove)));
+    }
+
+    @Override
+    public void removeCommentsOfBooks(Collection<Long> bookIds) {
+        removeComments(commentRepository.findIdsByBookIds(bookIds));
+    }
+
+    private void changeBooks(Consumer<InvertedIndex> change) {
+        synchronized (changeLock) {
+            change.accept(bookIndex);
+            if (pendingBookChanges != null) {
+                pendingBookChanges.add(change);
+            }
+        }
+    }
+
+    private void changeComments(Consumer<InvertedIndex> change) {
+        synchronized (changeLock) {
+            change.accept(commentIndex);
+            if (pendingCommentChanges != null) {
+                pendingCommentChanges.add(change);
+            }
+        }
+    }
+
+    private static List<Long> ids(List<SearchHit> hits) {
+        return hits.stream().map(SearchHit::id).toList();
+    }
+}
@@ -0,0 +1,60 @@
+package ru.otus.hw.commands;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.otus.hw.models.Book;
+import ru.otus.hw.services.BookService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional(propagation = Propagation.NEVER)
+@Sql(scripts = {"/clean.sql","/test-data.sql"})
+@DisplayName("Интеграционный тест CommandBatchExecutor")
+class CommandBatchExecutorIT {
+
+    @Autowired
+    private CommandBatchExecutor commandBatchExecutor;
+
+    @Autowired
+    private BookService bookService;
+
+    @Test
+    @DisplayName("execute: должен выполнять команды параллельно, каждую в своей транзакции")
+    void execute_ShouldRunEachCommandInOwnTransaction() {
+        List<String> lines = new ArrayList<>(IntStream.range(0, 200)
+                .mapToObj(i -> "bins \"Batch book %d\" %d %d,%d".formatted(i, 1 + i % 3, 1 + i % 6,
+                        1 + (i + 1) % 6))
+                .toList());
+        lines.add(100, "bins BookTitle_Bad 1 1,999");
+
+        var result = commandBatchExecutor.execute(lines.iterator(), 4);
+
+        assertThat(result.executed()).isEqualTo(201);
+        assertThat(result.failed()).isEqualTo(1);
+        assertThat(result.errors()).singleElement().asString().startsWith("bins BookTitle_Bad 1 1,999: ");
+        assertThat(bookService.findAll()).hasSize(3 + 200).extracting(Book::getTitle)
+                .contains("Batch book 0", "Batch book 199").doesNotContain("BookTitle_Bad");
+    }
+
+    @Test
+    @DisplayName("execute: должен пропускать пустые строки и комментарии и сообщать о неизвестных командах")
+    void execute_ShouldReportUnknownCommands() {
+        var lines = List.of("// comment", "", "nosuchcommand 1", "bbid 1", "bbid one");
+
+        var result = commandBatchExecutor.execute(lines.iterator(), 2);
+
+        assertThat(result.executed()).isEqualTo(3);
+        assertThat(result.failed()).isEqualTo(2);
+        assertThat(result.errors()).hasSize(2).contains("nosuchcommand 1: No command found");
+    }
+}
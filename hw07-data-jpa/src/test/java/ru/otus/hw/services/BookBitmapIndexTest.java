@@ -0,0 +1,105 @@
+package ru.otus.hw.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.otus.hw.exceptions.EntityNotFoundException;
+import ru.otus.hw.models.Author;
+import ru.otus.hw.models.Genre;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Тест BookBitmapIndex")
+class BookBitmapIndexTest {
+
+    private static final Author TOLSTOY = new Author(1L, "Leo Tolstoy");
+
+    private static final Author VERNE = new Author(2L, "Jules Verne");
+
+    private static final Author SCOTT = new Author(3L, "Walter Scott");
+
+    private static final Genre NOVEL = new Genre(1L, "Novel");
+
+    private static final Genre HISTORY = new Genre(2L, "History");
+
+    private static final Genre ADVENTURE = new Genre(3L, "Adventure");
+
+    private BookBitmapIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookBitmapIndex();
+        index.add(1, TOLSTOY, List.of(NOVEL, HISTORY));
+        index.add(2, TOLSTOY, List.of(NOVEL));
+        index.add(3, VERNE, List.of(ADVENTURE, NOVEL));
+        index.add(4, VERNE, List.of(ADVENTURE));
+        index.add(5, SCOTT, List.of(HISTORY, ADVENTURE));
+    }
+
+    @Test
+    @DisplayName("select: должен учитывать приоритет NOT, AND, OR и скобки")
+    void select_ShouldRespectOperatorPrecedence() {
+        assertThat(ids("Novel AND Adventure")).containsExactly(3L);
+        assertThat(ids("Novel NOT History")).containsExactly(2L, 3L);
+        assertThat(ids("History OR Adventure NOT Novel")).containsExactly(1L, 4L, 5L);
+        assertThat(ids("(History OR Adventure) not Novel")).containsExactly(4L, 5L);
+        assertThat(ids("NOT Novel")).containsExactly(4L, 5L);
+        assertThat(ids("Adventure \"Jules Verne\"")).containsExactly(3L, 4L);
+        assertThat(ids("author:\"Leo Tolstoy\" OR genre:History")).containsExactly(1L, 2L, 5L);
+    }
+
+    @Test
+    @DisplayName("select: должен сообщать о неизвестных именах и ошибках в выражении")
+    void select_ShouldRejectInvalidExpressions() {
+        assertThatThrownBy(() -> index.select("Poetry")).isInstanceOf(EntityNotFoundException.class);
+        assertThatThrownBy(() -> index.select("(Novel OR History")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.select("Novel AND")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.select(" ")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("genreFacets и page: должны считать жанры выборки и листать её по id без удалённых книг")
+    void genreFacetsAndPage_ShouldSkipDeletedBooks() {
+        index.delete(3);
+        index.remove(1, TOLSTOY.getId(), List.of(NOVEL.getId(), HISTORY.getId()));
+        index.add(1, TOLSTOY, List.of(new Genre(4L, "Poetry")));
+
+        var selection = index.select("Novel OR Adventure OR Poetry");
+        var facets = index.genreFacets(selection);
+        for (int id = 100; id < 200; id++) {
+            index.add(id, SCOTT, List.of(new Genre(5L, "Satire")));
+        }
+
+        assertThat(facets).containsExactly(Map.entry("Adventure", 2L), Map.entry("History", 1L),
+                Map.entry("Novel", 1L), Map.entry("Poetry", 1L));
+        assertThat(index.genreFacets(index.select("Novel OR Adventure OR Poetry"))).isEqualTo(facets);
+        assertThat(BookBitmapIndex.page(selection, 0, 2)).containsExactly(1L, 2L);
+        assertThat(BookBitmapIndex.page(selection, 2, 2)).containsExactly(4L, 5L);
+        assertThat(BookBitmapIndex.page(selection, 5, 2)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("select и genreFacets: должны различать жанры и авторов с одинаковыми именами по id")
+    void selectAndGenreFacets_ShouldTellSameNamesApartById() {
+        index.add(6, new Author(4L, "Leo Tolstoy"), List.of(new Genre(6L, "Novel")));
+
+        assertThatThrownBy(() -> index.select("Novel")).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("genre:#1, genre:#6");
+        assertThatThrownBy(() -> index.select("author:\"Leo Tolstoy\"")).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("author:#1, author:#4");
+        assertThatThrownBy(() -> index.select("genre:#7")).isInstanceOf(EntityNotFoundException.class);
+        assertThat(ids("genre:#6")).containsExactly(6L);
+        assertThat(ids("genre:#1 AND author:#1")).containsExactly(1L, 2L);
+        assertThat(index.genreFacets(index.select("genre:#1 OR genre:#6"))).containsExactly(
+                Map.entry("Adventure", 1L), Map.entry("History", 1L), Map.entry("Novel #1", 3L),
+                Map.entry("Novel #6", 1L));
+    }
+
+    private List<Long> ids(String expression) {
+        return BookBitmapIndex.page(index.select(expression), 0, 100);
+    }
+}
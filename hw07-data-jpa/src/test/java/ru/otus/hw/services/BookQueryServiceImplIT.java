@@ -0,0 +1,78 @@
+package ru.otus.hw.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.otus.hw.models.Book;
+import ru.otus.hw.models.Genre;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional(propagation = Propagation.NEVER)
+@Sql(scripts = {"/clean.sql","/test-data.sql"})
+@DisplayName("Интеграционный тест BookQueryServiceImpl")
+class BookQueryServiceImplIT {
+
+    @Autowired
+    private BookQueryService bookQueryService;
+
+    @Autowired
+    private BookService bookService;
+
+    @BeforeEach
+    void setUp() {
+        bookQueryService.rebuild();
+    }
+
+    @Test
+    @DisplayName("query: должен возвращать страницу книг с жанрами и счётчики жанров выборки")
+    void query_ShouldReturnPageWithFacets() {
+        var result = bookQueryService.query("Genre_1 OR Genre_3 OR Author_3", 1, 1);
+
+        assertThat(result.total()).isEqualTo(3);
+        assertThat(result.books()).singleElement().satisfies(book -> {
+            assertThat(book.getId()).isEqualTo(2L);
+            assertThat(book.getGenres()).extracting(Genre::getName).containsExactlyInAnyOrder("Genre_3", "Genre_4");
+        });
+        assertThat(result.genreFacets()).hasSize(6).containsEntry("Genre_1", 1L).containsEntry("Genre_6", 1L);
+    }
+
+    @Test
+    @DisplayName("query: должен учитывать добавление, изменение и удаление книг")
+    void query_ShouldFollowBookWrites() {
+        var inserted = bookService.insert("BookTitle_4", 1L, Set.of(1L, 3L));
+        bookService.update(1L, "BookTitle_1", 2L, Set.of(5L));
+        bookService.deleteById(2L);
+
+        assertThat(ids("Genre_1")).containsExactly(inserted.getId());
+        assertThat(ids("Genre_3 NOT Genre_5")).containsExactly(inserted.getId());
+        assertThat(ids("Genre_5")).containsExactly(1L, 3L);
+        assertThat(ids("Author_2")).containsExactly(1L);
+        assertThat(bookQueryService.query("Genre_5", 0, 10).genreFacets())
+                .isEqualTo(Map.of("Genre_5", 2L, "Genre_6", 1L));
+    }
+
+    @Test
+    @DisplayName("query: должен давать одинаковый результат после массового удаления и после перестроения индекса")
+    void query_ShouldMatchRebuiltIndexAfterBulkDelete() {
+        bookService.deleteAllByIds(List.of(1L, 2L));
+        var afterDelete = ids("Genre_1 OR Genre_3 OR Genre_5");
+        bookQueryService.rebuild();
+
+        assertThat(afterDelete).containsExactly(3L).isEqualTo(ids("Genre_1 OR Genre_3 OR Genre_5"));
+    }
+
+    private List<Long> ids(String expression) {
+        return bookQueryService.query(expression, 0, 100).books().stream().map(Book::getId).toList();
+    }
+}
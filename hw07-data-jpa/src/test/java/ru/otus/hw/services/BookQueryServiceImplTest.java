@@ -0,0 +1,47 @@
+package ru.otus.hw.services;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.otus.hw.dto.BookLinkDto;
+import ru.otus.hw.models.Author;
+import ru.otus.hw.models.Book;
+import ru.otus.hw.models.Genre;
+import ru.otus.hw.repositories.AuthorRepository;
+import ru.otus.hw.repositories.BookRepository;
+import ru.otus.hw.repositories.GenreRepository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Тест BookQueryServiceImpl")
+class BookQueryServiceImplTest {
+
+    private final AuthorRepository authorRepository = mock(AuthorRepository.class);
+
+    private final GenreRepository genreRepository = mock(GenreRepository.class);
+
+    private final BookRepository bookRepository = mock(BookRepository.class);
+
+    private final BookQueryServiceImpl bookQueryService = new BookQueryServiceImpl(authorRepository,
+            genreRepository, bookRepository, new TransactionTemplate(mock(PlatformTransactionManager.class)));
+
+    @Test
+    @DisplayName("rebuild: не должен терять изменения, записанные во время перестроения")
+    void rebuild_ShouldKeepChangesCommittedWhileRebuilding() {
+        var book = new Book(2L, "Anna Karenina", new Author(1L, "Leo Tolstoy"), List.of(new Genre(1L, "Novel")));
+        when(authorRepository.findAllUncached()).thenReturn(List.of(book.getAuthor()));
+        when(genreRepository.findAllUncached()).thenReturn(book.getGenres());
+        when(bookRepository.streamLinks()).thenReturn(Stream.of(new BookLinkDto(1L, 1L, "Leo Tolstoy", 1L, "Novel"))
+                .onClose(() -> bookQueryService.indexBook(book)));
+
+        bookQueryService.rebuild();
+
+        assertThat(bookQueryService.query("Novel", 0, 10).total()).isEqualTo(2);
+    }
+}
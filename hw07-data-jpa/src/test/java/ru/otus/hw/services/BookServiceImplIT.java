@@ -7,6 +7,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.jdbc.Sql;
+import ru.otus.hw.dto.BookSummaryDto;
 import ru.otus.hw.models.Author;
 import ru.otus.hw.models.Book;
 import ru.otus.hw.models.Genre;
@@ -15,6 +16,7 @@ import java.util.List;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @SpringBootTest
 @Transactional(propagation = Propagation.NEVER)
@@ -25,6 +27,9 @@ class BookServiceImplIT {
     @Autowired
     private BookService bookService;
 
+    @Autowired
+    private CommentService commentService;
+
     @Test
     @DisplayName("findById: должен возвращать книгу с доступными author и genres")
     void findById_ShouldReturnBookWithAccessibleRelations() {
@@ -94,4 +99,58 @@ class BookServiceImplIT {
                 .ignoringCollectionOrder()
                 .isEqualTo(expected);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("findPageAfter: должен загружать страницу книг после заданного id с доступными genres")
+    void findPageAfter_ShouldReturnBooksAfterId() {
+        var expected = List.of(
+                new Book(2L,"BookTitle_2", new Author(2L,"Author_2"),
+                        List.of(new Genre(3L,"Genre_3"), new Genre(4L,"Genre_4")))
+        );
+
+        var actual = bookService.findPageAfter(1L, 1);
+        assertThat(actual)
+                .usingRecursiveComparison()
+                .ignoringCollectionOrder()
+                .isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("findPageAfter: должен отклонять пустой или отрицательный размер страницы")
+    void findPageAfter_ShouldRejectNonPositiveLimit() {
+        assertThatThrownBy(() -> bookService.findPageAfter(0L, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> bookService.findPageAfter(0L, -1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("findAllSummaries: должен загружать краткие сведения о всех книгах")
+    void findAllSummaries_ShouldReturnAllBookSummaries() {
+        bookService.insert("BookTitle_4", 1L, Set.of(6L));
+
+        assertThat(bookService.findAllSummaries()).containsExactly(
+                new BookSummaryDto(1L, "BookTitle_1", "Author_1", "Genre_1, Genre_2"),
+                new BookSummaryDto(2L, "BookTitle_2", "Author_2", "Genre_3, Genre_4"),
+                new BookSummaryDto(3L, "BookTitle_3", "Author_3", "Genre_5, Genre_6"),
+                new BookSummaryDto(4L, "BookTitle_4", "Author_1", "Genre_6"));
+    }
+
+    @Test
+    @DisplayName("findSummariesPageAfter: должен загружать страницу кратких сведений после заданного id")
+    void findSummariesPageAfter_ShouldReturnSummariesAfterId() {
+        assertThat(bookService.findSummariesPageAfter(1L, 1))
+                .containsExactly(new BookSummaryDto(2L, "BookTitle_2", "Author_2", "Genre_3, Genre_4"));
+    }
+
+    @Test
+    @DisplayName("deleteAllByIds: должен удалять книги по списку id вместе с комментариями")
+    void deleteAllByIds_ShouldDeleteBooksWithComments() {
+        var comment = commentService.insert("c1", 1L);
+
+        assertThat(bookService.deleteAllByIds(List.of(1L, 2L, 100L))).isEqualTo(2);
+
+        assertThat(bookService.findById(1L)).isEmpty();
+        assertThat(bookService.findById(2L)).isEmpty();
+        assertThat(bookService.findById(3L)).isPresent();
+        assertThat(commentService.findById(comment.getId())).isEmpty();
+    }
+}
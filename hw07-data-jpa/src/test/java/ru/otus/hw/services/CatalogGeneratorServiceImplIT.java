@@ -0,0 +1,75 @@
+package ru.otus.hw.services;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional(propagation = Propagation.NEVER)
+@Sql(scripts = {"/clean.sql","/test-data.sql"})
+@DisplayName("Интеграционный тест CatalogGeneratorServiceImpl")
+class CatalogGeneratorServiceImplIT {
+
+    @Autowired
+    private CatalogGeneratorService catalogGeneratorService;
+
+    @Autowired
+    private NamedParameterJdbcOperations jdbc;
+
+    @Test
+    @DisplayName("generate: должен создавать заданное количество строк")
+    void generate_ShouldCreateRequestedRowsCount() {
+        long commentsBefore = count("comments");
+
+        var result = catalogGeneratorService.generate(settings(10));
+
+        assertThat(result.books()).isEqualTo(50);
+        assertThat(result.comments()).isEqualTo(100);
+        assertThat(count("books")).isEqualTo(3 + 50);
+        assertThat(count("books_genres")).isEqualTo(6 + result.genreLinks());
+        assertThat(count("comments") - commentsBefore).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("generate: должен создавать одинаковый каталог для одного seed независимо от размера пакета")
+    void generate_ShouldCreateSameCatalogForSameSeed() {
+        long lastBookId = maxBookId();
+        catalogGeneratorService.generate(settings(7));
+        var firstCatalog = booksAfter(lastBookId);
+
+        lastBookId = maxBookId();
+        catalogGeneratorService.generate(settings(50));
+        var secondCatalog = booksAfter(lastBookId);
+
+        assertThat(secondCatalog).hasSizeGreaterThanOrEqualTo(50).isEqualTo(firstCatalog);
+    }
+
+    private static CatalogGenerationSettings settings(int batchSize) {
+        return new CatalogGenerationSettings(5, 10, 50, 1, 3, GenreDistribution.ZIPF, 2, 42, batchSize);
+    }
+
+    private long count(String table) {
+        return jdbc.queryForObject("select count(*) from " + table, Map.of(), Long.class);
+    }
+
+    private long maxBookId() {
+        return jdbc.queryForObject("select max(id) from books", Map.of(), Long.class);
+    }
+
+    private List<String> booksAfter(long lastBookId) {
+        return jdbc.queryForList("select b.title || ':' || a.full_name || ':' || g.name from books b " +
+                        "join authors a on b.author_id = a.id join books_genres bg on b.id = bg.book_id " +
+                        "join genres g on bg.genre_id = g.id where b.id > :lastBookId order by b.id, g.name",
+                Map.of("lastBookId", lastBookId), String.class);
+    }
+}
@@ -0,0 +1,125 @@
+package ru.otus.hw.services;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.otus.hw.config.CommentIngestionProperties;
+import ru.otus.hw.exceptions.CommentIngestionRejectedException;
+import ru.otus.hw.exceptions.EntityNotFoundException;
+import ru.otus.hw.models.Comment;
+import ru.otus.hw.repositories.BookRepository;
+import ru.otus.hw.repositories.CommentRepository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:comment-ingestion",
+        "comment-ingestion.batch-size=3", "comment-ingestion.max-delay=1h"})
+@Transactional(propagation = Propagation.NEVER)
+@Sql(scripts = {"/clean.sql","/test-data.sql"})
+@DisplayName("Интеграционный тест CommentIngestionServiceImpl")
+class CommentIngestionServiceImplIT {
+
+    @Autowired
+    private CommentIngestionService commentIngestionService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TextSearchService textSearchService;
+
+    @Test
+    @DisplayName("enqueue: должен записывать комментарии, как только набрался полный пакет")
+    void enqueue_ShouldWriteFullBatch() {
+        long before = commentService.countByBookId(1L);
+        var futures = IntStream.range(0, 3)
+                .mapToObj(i -> commentIngestionService.enqueue("Queued_" + i, 1L)).toList();
+
+        var saved = futures.stream().map(f -> f.orTimeout(10, TimeUnit.SECONDS).join()).toList();
+
+        assertThat(saved).extracting(Comment::getText).containsExactly("Queued_0", "Queued_1", "Queued_2");
+        assertThat(commentService.countByBookId(1L)).isEqualTo(before + 3);
+    }
+
+    @Test
+    @DisplayName("flush: должен записывать неполный пакет и отклонять комментарии к несуществующей книге")
+    void flush_ShouldWritePartialBatchAndFailUnknownBook() {
+        long failedBefore = commentIngestionService.statistics().failed();
+        var existing = commentIngestionService.enqueue("Queued_2", 2L);
+        var missing = commentIngestionService.enqueue("Queued_404", 404L);
+
+        commentIngestionService.flush();
+
+        assertThat(existing).isCompletedWithValueMatching(c -> commentService.findById(c.getId()).isPresent());
+        assertThat(missing).isCompletedExceptionally();
+        assertThatThrownBy(missing::join).hasCauseInstanceOf(EntityNotFoundException.class);
+        assertThat(commentIngestionService.statistics().failed()).isEqualTo(failedBefore + 1);
+        assertThat(commentIngestionService.statistics().maxFlushLatencyMillis()).isNotNegative();
+    }
+
+    @Test
+    @DisplayName("enqueue: должен отклонять комментарии при заполненной очереди с политикой REJECT")
+    void enqueue_ShouldRejectWhenQueueIsFull() {
+        var properties = new CommentIngestionProperties();
+        properties.setQueueCapacity(2);
+        properties.setBatchSize(10);
+        properties.setMaxDelay(Duration.ofHours(1));
+        properties.setBackpressure(CommentIngestionProperties.Backpressure.REJECT);
+        var service = new CommentIngestionServiceImpl(properties, commentRepository, bookRepository,
+                transactionTemplate, textSearchService);
+
+        List<CompletableFuture<Comment>> accepted = List.of(service.enqueue("Queued_1", 3L),
+                service.enqueue("Queued_2", 3L));
+
+        assertThatThrownBy(() -> service.enqueue("Queued_3", 3L))
+                .isInstanceOf(CommentIngestionRejectedException.class);
+        assertThat(service.statistics().rejected()).isEqualTo(1);
+        service.destroy();
+        assertThat(accepted).allMatch(f -> f.isDone() && !f.isCompletedExceptionally());
+        assertThat(service.statistics().batches()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("flush: должен завершать записанные комментарии и считать ошибку, если индексация упала")
+    void flush_ShouldCompleteWrittenCommentsAndCountIndexingFailure() {
+        var properties = new CommentIngestionProperties();
+        properties.setMaxDelay(Duration.ofHours(1));
+        var brokenIndex = mock(TextSearchService.class);
+        doThrow(new IllegalStateException("Index is broken")).when(brokenIndex).indexComments(anyCollection());
+        var service = new CommentIngestionServiceImpl(properties, commentRepository, bookRepository,
+                transactionTemplate, brokenIndex);
+
+        var first = service.enqueue("Queued_1", 3L);
+        service.flush();
+        var second = service.enqueue("Queued_2", 3L);
+        service.destroy();
+
+        assertThat(List.of(first, second)).allMatch(f -> f.isDone() && !f.isCompletedExceptionally());
+        assertThat(service.statistics().written()).isEqualTo(2);
+        assertThat(service.statistics().flushErrors()).isEqualTo(2);
+    }
+}
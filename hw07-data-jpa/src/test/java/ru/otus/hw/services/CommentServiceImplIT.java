@@ -10,6 +10,7 @@ import org.springframework.test.context.jdbc.Sql;
 import ru.otus.hw.models.Comment;
 
 import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -81,4 +82,29 @@ class CommentServiceImplIT {
         commentService.deleteById(saved.getId());
         assertThat(commentService.findById(saved.getId())).isEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("deleteAllByBookIds: должен удалять все комментарии заданных книг")
+    void deleteAllByBookIds_ShouldDeleteCommentsOfBooks() {
+        commentService.insert("c1", 1L);
+        commentService.insert("c2", 1L);
+        commentService.insert("c3", 2L);
+
+        assertThat(commentService.deleteAllByBookIds(Set.of(1L))).isEqualTo(2);
+        assertThat(commentService.findAllByBookId(1L)).isEmpty();
+        assertThat(commentService.findAllByBookId(2L)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("findPageByBookId: должен возвращать страницу комментариев книги после заданного id")
+    void findPageByBookId_ShouldReturnCommentsAfterId() {
+        var first = commentService.insert("c1", 1L);
+        commentService.insert("c2", 1L);
+        commentService.insert("c3", 2L);
+        commentService.insert("c4", 1L);
+
+        assertThat(commentService.findPageByBookId(1L, first.getId(), 1))
+                .extracting(Comment::getText).containsExactly("c2");
+        assertThat(commentService.countByBookId(1L)).isEqualTo(3);
+    }
+}
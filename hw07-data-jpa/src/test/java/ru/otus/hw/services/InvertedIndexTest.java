@@ -0,0 +1,56 @@
+package ru.otus.hw.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Инвертированный индекс ")
+class InvertedIndexTest {
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex();
+        index.put(1, "War and Peace");
+        index.put(2, "Peace, peace and more peace");
+        index.put(3, "Warlock of the war");
+        index.put(4, "Война и мир");
+    }
+
+    @DisplayName("должен находить документы, содержащие все слова запроса")
+    @Test
+    void shouldFindDocumentsWithAllTerms() {
+        assertThat(index.search("peace WAR", 10)).extracting(SearchHit::id).containsExactly(1L);
+        assertThat(index.search("мир", 10)).extracting(SearchHit::id).containsExactly(4L);
+        assertThat(index.search("peace missing", 10)).isEmpty();
+    }
+
+    @DisplayName("должен ранжировать документы по частоте слова")
+    @Test
+    void shouldRankByTermFrequency() {
+        assertThat(index.search("peace", 10)).extracting(SearchHit::id).containsExactly(2L, 1L);
+        assertThat(index.search("peace", 1)).extracting(SearchHit::id).containsExactly(2L);
+    }
+
+    @DisplayName("должен находить документы по префиксу")
+    @Test
+    void shouldFindByPrefix() {
+        assertThat(index.search("war*", 10)).extracting(SearchHit::id).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(index.search("war", 10)).extracting(SearchHit::id).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(index.search("warl*", 10)).extracting(SearchHit::id).containsExactly(3L);
+    }
+
+    @DisplayName("должен учитывать изменение и удаление документов")
+    @Test
+    void shouldFollowUpdatesAndRemovals() {
+        index.put(1, "Anna Karenina");
+        index.remove(2);
+
+        assertThat(index.search("peace", 10)).isEmpty();
+        assertThat(index.search("anna", 10)).extracting(SearchHit::id).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,82 @@
+package ru.otus.hw.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.otus.hw.config.QueryRecorder;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"query-audit.enabled=true", "spring.datasource.url=jdbc:h2:mem:query-audit"})
+@Transactional(propagation = Propagation.NEVER)
+@Sql(scripts = {"/clean.sql","/test-data.sql"})
+@DisplayName("Интеграционный тест QueryPlanAuditServiceImpl")
+class QueryPlanAuditServiceImplIT {
+
+    @Autowired
+    private QueryPlanAuditService queryPlanAuditService;
+
+    @Autowired
+    private QueryRecorder queryRecorder;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private GenreService genreService;
+
+    @Autowired
+    private ReferenceCacheService referenceCacheService;
+
+    @BeforeEach
+    void setUp() {
+        referenceCacheService.invalidateAll();
+        queryRecorder.clear();
+    }
+
+    @Test
+    @DisplayName("audit: не должен находить полных просмотров таблиц в выборках по ключу, страницах и удалениях")
+    void audit_ShouldNotFindTableScansInKeyedQueries() {
+        bookService.findById(1L);
+        bookService.findPageAfter(1L, 2);
+        bookService.findSummariesPageAfter(1L, 2);
+        authorService.findPageAfter(1L, 2);
+        genreService.findPageAfter(1L, 2);
+        commentService.findPageByBookId(1L, 0L, 2);
+        commentService.countByBookId(1L);
+        var book = bookService.update(1L, "BookTitle_10500", 2L, Set.of(3L, 4L));
+        commentService.update(commentService.insert("Comment_10500", book.getId()).getId(), "Comment_10501");
+        commentService.deleteAllByBookIds(List.of(2L));
+        bookService.deleteAllByIds(List.of(2L));
+        bookService.deleteById(3L);
+
+        var plans = queryPlanAuditService.audit();
+
+        assertThat(plans).isNotEmpty().noneMatch(QueryPlan::tableScan);
+    }
+
+    @Test
+    @DisplayName("audit: должен помечать полный просмотр таблицы")
+    void audit_ShouldFlagTableScan() {
+        authorService.findAll();
+
+        assertThat(queryPlanAuditService.audit()).singleElement().satisfies(plan -> {
+            assertThat(plan.sql()).startsWith("select");
+            assertThat(plan.tableScan()).isTrue();
+        });
+    }
+}
@@ -0,0 +1,79 @@
+package ru.otus.hw.services;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.otus.hw.models.Author;
+import ru.otus.hw.models.Genre;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional(propagation = Propagation.NEVER)
+@Sql(scripts = {"/clean.sql","/test-data.sql"})
+@DisplayName("Интеграционный тест кэша второго уровня")
+class ReferenceCacheServiceImplIT {
+
+    @Autowired
+    private ReferenceCacheService referenceCacheService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        referenceCacheService.invalidateAll();
+    }
+
+    @Test
+    @DisplayName("insert: должен брать автора и жанры из кэша при повторной записи книги")
+    void insert_ShouldTakeAuthorAndGenresFromCache() {
+        bookService.insert("BookTitle_A", 1L, Set.of(1L, 2L));
+        long authorHits = hits("authors");
+        long authorLoads = loads(Author.class);
+        long genreLoads = loads(Genre.class);
+
+        bookService.insert("BookTitle_B", 1L, Set.of(1L, 2L));
+
+        assertThat(hits("authors") - authorHits).isEqualTo(1);
+        assertThat(loads(Author.class)).isEqualTo(authorLoads);
+        assertThat(loads(Genre.class)).isEqualTo(genreLoads);
+    }
+
+    @Test
+    @DisplayName("findAll: должен кэшировать результат запроса всех авторов")
+    void findAll_ShouldCacheQueryResults() {
+        var first = authorService.findAll();
+        long queryHits = hits("default-query-results-region");
+
+        var second = authorService.findAll();
+
+        assertThat(second).hasSameSizeAs(first).hasSize(3);
+        assertThat(hits("default-query-results-region") - queryHits).isEqualTo(1);
+    }
+
+    private long hits(String region) {
+        return referenceCacheService.stats().get(region).getHitCount();
+    }
+
+    // entities read from the database, cache hits are not counted
+    private long loads(Class<?> entityClass) {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics()
+                .getEntityStatistics(entityClass.getName()).getLoadCount();
+    }
+}
@@ -0,0 +1,80 @@
+package ru.otus.hw.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.otus.hw.exceptions.EntityNotFoundException;
+import ru.otus.hw.models.Book;
+import ru.otus.hw.models.Comment;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional(propagation = Propagation.NEVER)
+@Sql(scripts = {"/clean.sql","/test-data.sql"})
+@DisplayName("Интеграционный тест TextSearchServiceImpl")
+class TextSearchServiceImplIT {
+
+    @Autowired
+    private TextSearchService textSearchService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @BeforeEach
+    void setUp() {
+        textSearchService.rebuild();
+    }
+
+    @Test
+    @DisplayName("searchBooks: должен находить книги, загруженные из базы при построении индекса")
+    void searchBooks_ShouldFindIndexedBooks() {
+        assertThat(textSearchService.searchBooks("booktitle 2", 10)).extracting(Book::getId).containsExactly(2L);
+        assertThat(textSearchService.searchBooks("bookt*", 10)).extracting(Book::getId)
+                .containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    @Test
+    @DisplayName("searchBooks: должен учитывать добавление, изменение и удаление книг")
+    void searchBooks_ShouldFollowBookWrites() {
+        var inserted = bookService.insert("Moby Dick", 1L, Set.of(1L));
+        bookService.update(1L, "The Whale", 1L, Set.of(1L));
+        bookService.deleteById(2L);
+
+        assertThat(textSearchService.searchBooks("moby", 10)).extracting(Book::getId)
+                .containsExactly(inserted.getId());
+        assertThat(textSearchService.searchBooks("whale", 10)).extracting(Book::getId).containsExactly(1L);
+        assertThat(textSearchService.searchBooks("booktitle", 10)).extracting(Book::getId).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("searchComments: должен учитывать запись комментариев и не видеть откаченные изменения")
+    void searchComments_ShouldFollowCommittedCommentWrites() {
+        var first = commentService.insert("Call me Ishmael", 1L);
+        var second = commentService.insert("Ishmael again", 2L);
+        commentService.update(first.getId(), "Call me later");
+        assertThatThrownBy(() -> commentService.insert("Ishmael nowhere", 404L))
+                .isInstanceOf(EntityNotFoundException.class);
+
+        assertThat(textSearchService.searchComments("ishmael", 10)).extracting(Comment::getId)
+                .containsExactly(second.getId());
+
+        bookService.deleteAllByIds(List.of(2L));
+
+        assertThat(textSearchService.searchComments("ishmael", 10)).isEmpty();
+        assertThat(textSearchService.searchComments("call lat*", 10)).extracting(Comment::getId)
+                .containsExactly(first.getId());
+    }
+}
@@ -0,0 +1,48 @@
+package ru.otus.hw.services;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.otus.hw.dto.IndexedTextDto;
+import ru.otus.hw.models.Book;
+import ru.otus.hw.models.Comment;
+import ru.otus.hw.repositories.BookRepository;
+import ru.otus.hw.repositories.CommentRepository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Тест TextSearchServiceImpl")
+class TextSearchServiceImplTest {
+
+    private final BookRepository bookRepository = mock(BookRepository.class);
+
+    private final CommentRepository commentRepository = mock(CommentRepository.class);
+
+    private final TextSearchServiceImpl textSearchService = new TextSearchServiceImpl(bookRepository,
+            commentRepository, new TransactionTemplate(mock(PlatformTransactionManager.class)));
+
+    @Test
+    @DisplayName("rebuild: не должен терять изменения, записанные во время перестроения")
+    void rebuild_ShouldKeepChangesCommittedWhileRebuilding() {
+        var book = new Book(2L, "Anna Karenina", null, List.of());
+        var comment = new Comment(2L, "Happy families", book);
+        when(bookRepository.streamTitles()).thenReturn(Stream.of(new IndexedTextDto(1L, "War and Peace"))
+                .onClose(() -> {
+                    textSearchService.indexBook(book);
+                    textSearchService.indexComments(List.of(comment));
+                }));
+        when(commentRepository.streamTexts()).thenReturn(Stream.of(new IndexedTextDto(1L, "All alike")));
+
+        textSearchService.rebuild();
+
+        var statistics = textSearchService.statistics();
+        assertThat(statistics.books()).isEqualTo(2);
+        assertThat(statistics.comments()).isEqualTo(2);
+    }
+}
@@ -1,8 +1,12 @@
 insert into authors(id, full_name) values (1, 'Author_1'), (2, 'Author_2'), (3, 'Author_3');
 
+alter table authors alter column id restart with 4;
+
 insert into genres(id, name) values
 (1,'Genre_1'),(2,'Genre_2'),(3,'Genre_3'),(4,'Genre_4'),(5,'Genre_5'),(6,'Genre_6');
 
+alter table genres alter column id restart with 7;
+
 insert into books(id, title, author_id) values
 (1,'BookTitle_1',1),
 (2,'BookTitle_2',2),